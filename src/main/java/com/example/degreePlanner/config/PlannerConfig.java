@@ -0,0 +1,22 @@
+package com.example.degreePlanner.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Threads for plan optimization (see PlanService.optimizePlan).
+ */
+@Configuration
+public class PlannerConfig {
+
+    /**
+     * Pool the optimizer's search runs on. It is kept apart from the common pool, which parallel streams and
+     * CompletableFuture share, and leaves one core free so a long search cannot take every core from request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool planOptimizerPool() {
+        return new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+}
@@ -36,6 +36,16 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getAllCourses());
     }
 
+    /**
+     * Keyword search over titles and descriptions, best match first.
+     * GET /courses/search?q=data+structures&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Course>> searchCourses(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(courseService.searchCourses(q, limit));
+    }
+
     @GetMapping("/{code}/{courseNum}")
     public ResponseEntity<Course> getCourseByCodeAndCourseNum(@PathVariable String code, @PathVariable String courseNum){
         return ResponseEntity.ok(courseService.getCourseByCodeAndCourseNum(code, courseNum));
@@ -78,6 +88,15 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getPrerequisite(courseId));
     }
 
+    /**
+     * Courses that list this course somewhere in their prerequisites.
+     */
+    @GetMapping("/{code}/{courseNum}/unlocks")
+    public ResponseEntity<List<Course>> getUnlockedCourses(@PathVariable String code, @PathVariable String courseNum) {
+        Long courseId = courseService.getCourseByCodeAndCourseNum(code, courseNum).getId();
+        return ResponseEntity.ok(courseService.getUnlockedCourses(courseId));
+    }
+
     /**
      * Set complex nested prerequisites.
      * Example body for (A OR B) AND C:
@@ -99,6 +118,15 @@ public class CourseController {
         return ResponseEntity.ok(prereq);
     }
 
+    /**
+     * Catalog health report: prerequisite cycles and courses that can never be taken.
+     * GET /courses/health
+     */
+    @GetMapping("/health")
+    public ResponseEntity<CourseService.CatalogHealthReport> getCatalogHealth() {
+        return ResponseEntity.ok(courseService.getCatalogHealth());
+    }
+
     /**
      * Bulk import courses from JSON array.
      * POST /courses/import
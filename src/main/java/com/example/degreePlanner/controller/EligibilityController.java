@@ -0,0 +1,48 @@
+package com.example.degreePlanner.controller;
+
+import com.example.degreePlanner.dto.request.BatchEligibilityRequest;
+import com.example.degreePlanner.dto.response.StudentEligibilityResponse;
+import com.example.degreePlanner.service.EligibilityService;
+import com.example.degreePlanner.service.PrerequisiteCircuit;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/eligibility")
+public class EligibilityController {
+
+    private final EligibilityService eligibilityService;
+
+    public EligibilityController(EligibilityService eligibilityService) {
+        this.eligibilityService = eligibilityService;
+    }
+
+    /**
+     * Eligibility matrix for many students against many courses.
+     * POST /eligibility/batch
+     * Body: { "studentIds": [...], "courseIds": [...] }
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<StudentEligibilityResponse>> checkEligibilityBatch(
+            @Valid @RequestBody BatchEligibilityRequest request) {
+
+        List<StudentEligibilityResponse> matrix = eligibilityService
+                .checkEligibilityBatch(request.getStudentIds(), request.getCourseIds()).stream()
+                .map(StudentEligibilityResponse::fromServiceResult)
+                .toList();
+
+        return ResponseEntity.ok(matrix);
+    }
+
+    /**
+     * Prerequisite evaluation counters: how many tree nodes were visited and how many short-circuiting skipped.
+     * GET /eligibility/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<PrerequisiteCircuit.EvaluationStats> getEvaluationStats() {
+        return ResponseEntity.ok(eligibilityService.getEvaluationStats());
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.degreePlanner.controller;
 
+import com.example.degreePlanner.dto.response.CriticalPathResponse;
 import com.example.degreePlanner.entity.Major;
+import com.example.degreePlanner.service.CriticalPathService;
 import com.example.degreePlanner.service.MajorService;
+import com.example.degreePlanner.service.ProgressService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -14,9 +23,16 @@ import java.util.List;
 public class MajorController {
 
     private final MajorService majorService;
+    private final ProgressService progressService;
+    private final CriticalPathService criticalPathService;
+    private final ObjectMapper objectMapper;
 
-    public MajorController(MajorService majorService) {
+    public MajorController(MajorService majorService, ProgressService progressService,
+                           CriticalPathService criticalPathService, ObjectMapper objectMapper) {
         this.majorService = majorService;
+        this.progressService = progressService;
+        this.criticalPathService = criticalPathService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -36,6 +52,44 @@ public class MajorController {
         return ResponseEntity.ok(majorService.getMajorByCodeAndDesignation(code, designation));
     }
 
+    /**
+     * Progress audit for every student who declared the major.
+     * The JSON array is written to the response as each student is evaluated, so large cohorts are never held in memory.
+     * GET /majors/{code}/{designation}/progress
+     */
+    @GetMapping("/{code}/{designation}/progress")
+    public void getCohortProgress(
+            @PathVariable String code,
+            @PathVariable String designation,
+            HttpServletResponse response) throws IOException {
+        // Resolve the major first so a 404 is returned before any output is written
+        majorService.getMajorByCodeAndDesignation(code, designation);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.writeStartArray();
+            progressService.streamCohortProgress(code, designation, entry -> {
+                try {
+                    json.writeObject(entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * Longest prerequisite chain among the major's required courses, and the minimum semesters it implies.
+     * GET /majors/{code}/{designation}/critical-path
+     */
+    @GetMapping("/{code}/{designation}/critical-path")
+    public ResponseEntity<CriticalPathResponse> getCriticalPath(
+            @PathVariable String code,
+            @PathVariable String designation) {
+        return ResponseEntity.ok(CriticalPathResponse.fromServiceResult(criticalPathService.getCriticalPath(code, designation)));
+    }
+
     @PostMapping
     public ResponseEntity<Major> createMajor(@RequestBody Major major) {
         Major created = majorService.createMajor(major);
@@ -1,15 +1,29 @@
 package com.example.degreePlanner.controller;
 
 import com.example.degreePlanner.dto.request.CreateStudentRequest;
+import com.example.degreePlanner.dto.request.GeneratePlanRequest;
+import com.example.degreePlanner.dto.request.OptimizePlanRequest;
+import com.example.degreePlanner.dto.response.CourseResponse;
+import com.example.degreePlanner.dto.response.CriticalPathResponse;
+import com.example.degreePlanner.dto.response.DegreePlanResponse;
 import com.example.degreePlanner.dto.response.EligibilityResponse;
 import com.example.degreePlanner.dto.response.MajorProgressResponse;
+import com.example.degreePlanner.dto.response.MajorProgressSummaryResponse;
+import com.example.degreePlanner.dto.response.MajorRankingResponse;
+import com.example.degreePlanner.dto.response.OptimizedPlanResponse;
 import com.example.degreePlanner.dto.response.StudentResponse;
 import com.example.degreePlanner.entity.Course;
+import com.example.degreePlanner.entity.RequirementStatus;
 import com.example.degreePlanner.entity.Student;
+import com.example.degreePlanner.entity.Term;
 import com.example.degreePlanner.service.CourseService;
+import com.example.degreePlanner.service.CriticalPathService;
 import com.example.degreePlanner.service.EligibilityService;
+import com.example.degreePlanner.service.MaterializedProgressService;
+import com.example.degreePlanner.service.PlanService;
 import com.example.degreePlanner.service.ProgressService;
 import com.example.degreePlanner.service.StudentService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,15 +37,24 @@ public class StudentController {
     private final EligibilityService eligibilityService;
     private final CourseService courseService;
     private final ProgressService progressService;
+    private final MaterializedProgressService materializedProgressService;
+    private final PlanService planService;
+    private final CriticalPathService criticalPathService;
 
     public StudentController(StudentService studentService,
                              EligibilityService eligibilityService,
                              CourseService courseService,
-                             ProgressService progressService) {
+                             ProgressService progressService,
+                             MaterializedProgressService materializedProgressService,
+                             PlanService planService,
+                             CriticalPathService criticalPathService) {
         this.studentService = studentService;
         this.eligibilityService = eligibilityService;
         this.courseService = courseService;
         this.progressService = progressService;
+        this.materializedProgressService = materializedProgressService;
+        this.planService = planService;
+        this.criticalPathService = criticalPathService;
     }
 
     @GetMapping()
@@ -72,35 +95,147 @@ public class StudentController {
 
     @GetMapping("/{id}/eligibility/{courseCode}/{courseNum}")
     public ResponseEntity<EligibilityResponse> checkEligibility(
+            @PathVariable("id") Long studentId,
+            @PathVariable String courseCode,
+            @PathVariable String courseNum,
+            @RequestParam(name = "missing", defaultValue = "ALL") EligibilityService.MissingMode missingMode) {
+
+        Course course = courseService.getCourseByCodeAndCourseNum(courseCode, courseNum);
+        EligibilityService.EligibilityResult result = eligibilityService.checkEligibility(studentId, course.getId(), missingMode);
+
+        return ResponseEntity.ok(EligibilityResponse.fromCourse(course, result.eligible(), result.missing()));
+    }
+
+    /**
+     * Courses the student may take next. With a term (e.g. "Fall 2025"), only courses offered in that term.
+     */
+    @GetMapping("/{id}/eligible-courses")
+    public ResponseEntity<List<CourseResponse>> getEligibleCourses(
+            @PathVariable("id") Long studentId,
+            @RequestParam(required = false) String term) {
+
+        List<Course> courses = term != null
+                ? eligibilityService.getEligibleCourses(studentId, Term.parse(term))
+                : eligibilityService.getEligibleCourses(studentId);
+        return ResponseEntity.ok(courses.stream().map(CourseResponse::fromEntity).toList());
+    }
+
+    @GetMapping("/{id}/unlocks/{courseCode}/{courseNum}")
+    public ResponseEntity<List<CourseResponse>> getNewlyEligibleCourses(
             @PathVariable("id") Long studentId,
             @PathVariable String courseCode,
             @PathVariable String courseNum) {
 
         Course course = courseService.getCourseByCodeAndCourseNum(courseCode, courseNum);
-        boolean eligible = eligibilityService.isEligibleForCourse(studentId, course.getId());
-        List<Course> missing = eligibilityService.getMissingPrerequisites(studentId, course.getId());
+        List<CourseResponse> unlocked = eligibilityService.getNewlyEligibleCourses(studentId, course.getId()).stream()
+                .map(CourseResponse::fromEntity)
+                .toList();
 
-        return ResponseEntity.ok(EligibilityResponse.fromCourse(course, eligible, missing));
+        return ResponseEntity.ok(unlocked);
     }
 
+    /**
+     * Progress for every declared major. ?status=COMPLETE (or IN_PROGRESS, NOT_STARTED) lists only matching requirements.
+     */
     @GetMapping("/{id}/progress")
     public ResponseEntity<List<MajorProgressResponse>> getOverallProgress(
-            @PathVariable("id") Long studentId) {
+            @PathVariable("id") Long studentId,
+            @RequestParam(required = false) RequirementStatus status) {
 
-        List<MajorProgressResponse> progress = progressService.getOverallProgress(studentId).stream()
+        List<MajorProgressResponse> progress = progressService.getOverallProgress(studentId, status).stream()
                 .map(MajorProgressResponse::fromServiceResult)
                 .toList();
 
         return ResponseEntity.ok(progress);
     }
 
+    /**
+     * Credits and status per requirement for every declared major, served from the materialized progress tables.
+     */
+    @GetMapping("/{id}/progress/summary")
+    public ResponseEntity<List<MajorProgressSummaryResponse>> getProgressSummary(
+            @PathVariable("id") Long studentId) {
+
+        List<MajorProgressSummaryResponse> summary = materializedProgressService.getProgressSummary(studentId).stream()
+                .map(MajorProgressSummaryResponse::fromServiceResult)
+                .toList();
+
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * What-if: every major in the catalog ranked by how far along the student already is, best first.
+     */
+    @GetMapping("/{id}/what-if/majors")
+    public ResponseEntity<List<MajorRankingResponse>> rankMajors(
+            @PathVariable("id") Long studentId,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<MajorRankingResponse> ranking = progressService.rankMajors(studentId, limit).stream()
+                .map(MajorRankingResponse::fromServiceResult)
+                .toList();
+
+        return ResponseEntity.ok(ranking);
+    }
+
     @GetMapping("/{id}/progress/{code}/{designation}")
     public ResponseEntity<MajorProgressResponse> getMajorProgress(
             @PathVariable("id") Long studentId,
             @PathVariable String code,
-            @PathVariable String designation) {
+            @PathVariable String designation,
+            @RequestParam(required = false) RequirementStatus status) {
 
-        ProgressService.MajorProgress progress = progressService.getMajorProgress(studentId, code, designation);
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(studentId, code, designation, status);
         return ResponseEntity.ok(MajorProgressResponse.fromServiceResult(progress));
     }
+
+    /**
+     * Semester-by-semester plan for the rest of a declared major.
+     *
+     * POST /students/{id}/plan
+     * Body: { "majorCode": "CS", "majorDesignation": "BS", "maxCreditsPerSemester": 15, "startTerm": "Fall 2025" }
+     */
+    @PostMapping("/{id}/plan")
+    public ResponseEntity<DegreePlanResponse> generatePlan(
+            @PathVariable("id") Long studentId,
+            @Valid @RequestBody GeneratePlanRequest request) {
+
+        Term startTerm = request.getStartTerm() != null ? Term.parse(request.getStartTerm()) : null;
+        PlanService.DegreePlan plan = planService.generatePlan(studentId, request.getMajorCode(),
+                request.getMajorDesignation(), request.getMaxCreditsPerSemester(), startTerm);
+        return ResponseEntity.ok(DegreePlanResponse.fromServiceResult(plan));
+    }
+
+    /**
+     * Shortest plan found within the time budget (fewest semesters, then fewest credits).
+     * exhaustive is false if the budget ran out before every alternative was explored.
+     *
+     * POST /students/{id}/plan/optimize
+     * Body: { "majorCode": "CS", "majorDesignation": "BS", "maxCreditsPerSemester": 15, "timeBudgetMillis": 2000 }
+     */
+    @PostMapping("/{id}/plan/optimize")
+    public ResponseEntity<OptimizedPlanResponse> optimizePlan(
+            @PathVariable("id") Long studentId,
+            @Valid @RequestBody OptimizePlanRequest request) {
+
+        Term startTerm = request.getStartTerm() != null ? Term.parse(request.getStartTerm()) : null;
+        PlanService.OptimizedPlan plan = planService.optimizePlan(studentId, request.getMajorCode(),
+                request.getMajorDesignation(), request.getMaxCreditsPerSemester(), startTerm,
+                request.getTimeBudgetMillis());
+        return ResponseEntity.ok(OptimizedPlanResponse.fromServiceResult(plan));
+    }
+
+    /**
+     * Longest prerequisite chain left for the student in a major, and the minimum semesters it implies.
+     * Completed and in-progress courses are treated as done.
+     */
+    @GetMapping("/{id}/critical-path/{code}/{designation}")
+    public ResponseEntity<CriticalPathResponse> getCriticalPath(
+            @PathVariable("id") Long studentId,
+            @PathVariable String code,
+            @PathVariable String designation) {
+
+        CriticalPathService.CriticalPath path = criticalPathService.getCriticalPath(studentId, code, designation);
+        return ResponseEntity.ok(CriticalPathResponse.fromServiceResult(path));
+    }
 }
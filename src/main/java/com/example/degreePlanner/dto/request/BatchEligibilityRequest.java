@@ -0,0 +1,32 @@
+package com.example.degreePlanner.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request to check eligibility for every student/course pair.
+ *
+ * Example: { "studentIds": [1, 2, 3], "courseIds": [10, 11] }
+ */
+public class BatchEligibilityRequest {
+
+    @NotEmpty(message = "Student ids are required")
+    private List<Long> studentIds;
+
+    @NotEmpty(message = "Course ids are required")
+    private List<Long> courseIds;
+
+    public BatchEligibilityRequest() {}
+
+    public BatchEligibilityRequest(List<Long> studentIds, List<Long> courseIds) {
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+    }
+
+    public List<Long> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<Long> studentIds) { this.studentIds = studentIds; }
+
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+}
@@ -0,0 +1,44 @@
+package com.example.degreePlanner.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request to plan the rest of a declared major.
+ *
+ * Example: { "majorCode": "CS", "majorDesignation": "BS", "maxCreditsPerSemester": 15 }
+ */
+public class GeneratePlanRequest {
+
+    @NotBlank(message = "Major code is required")
+    private String majorCode;
+
+    @NotBlank(message = "Major designation is required")
+    private String majorDesignation;
+
+    @Min(value = 1, message = "Credit cap must be at least 1")
+    private int maxCreditsPerSemester = 15;
+
+    // First term of the plan, e.g. "Fall 2025"; optional, and course offerings are only honored when it is set
+    private String startTerm;
+
+    public GeneratePlanRequest() {}
+
+    public GeneratePlanRequest(String majorCode, String majorDesignation, int maxCreditsPerSemester) {
+        this.majorCode = majorCode;
+        this.majorDesignation = majorDesignation;
+        this.maxCreditsPerSemester = maxCreditsPerSemester;
+    }
+
+    public String getMajorCode() { return majorCode; }
+    public void setMajorCode(String majorCode) { this.majorCode = majorCode; }
+
+    public String getMajorDesignation() { return majorDesignation; }
+    public void setMajorDesignation(String majorDesignation) { this.majorDesignation = majorDesignation; }
+
+    public int getMaxCreditsPerSemester() { return maxCreditsPerSemester; }
+    public void setMaxCreditsPerSemester(int maxCreditsPerSemester) { this.maxCreditsPerSemester = maxCreditsPerSemester; }
+
+    public String getStartTerm() { return startTerm; }
+    public void setStartTerm(String startTerm) { this.startTerm = startTerm; }
+}
@@ -0,0 +1,53 @@
+package com.example.degreePlanner.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request to search for the shortest plan for the rest of a declared major.
+ *
+ * Example: { "majorCode": "CS", "majorDesignation": "BS", "maxCreditsPerSemester": 15, "timeBudgetMillis": 2000 }
+ */
+public class OptimizePlanRequest {
+
+    @NotBlank(message = "Major code is required")
+    private String majorCode;
+
+    @NotBlank(message = "Major designation is required")
+    private String majorDesignation;
+
+    @Min(value = 1, message = "Credit cap must be at least 1")
+    private int maxCreditsPerSemester = 15;
+
+    @Min(value = 1, message = "Time budget must be at least 1 ms")
+    @Max(value = 30000, message = "Time budget must be at most 30000 ms")
+    private long timeBudgetMillis = 2000;
+
+    // First term of the plan, e.g. "Fall 2025"; optional, and course offerings are only honored when it is set
+    private String startTerm;
+
+    public OptimizePlanRequest() {}
+
+    public OptimizePlanRequest(String majorCode, String majorDesignation, int maxCreditsPerSemester, long timeBudgetMillis) {
+        this.majorCode = majorCode;
+        this.majorDesignation = majorDesignation;
+        this.maxCreditsPerSemester = maxCreditsPerSemester;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public String getMajorCode() { return majorCode; }
+    public void setMajorCode(String majorCode) { this.majorCode = majorCode; }
+
+    public String getMajorDesignation() { return majorDesignation; }
+    public void setMajorDesignation(String majorDesignation) { this.majorDesignation = majorDesignation; }
+
+    public int getMaxCreditsPerSemester() { return maxCreditsPerSemester; }
+    public void setMaxCreditsPerSemester(int maxCreditsPerSemester) { this.maxCreditsPerSemester = maxCreditsPerSemester; }
+
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public void setTimeBudgetMillis(long timeBudgetMillis) { this.timeBudgetMillis = timeBudgetMillis; }
+
+    public String getStartTerm() { return startTerm; }
+    public void setStartTerm(String startTerm) { this.startTerm = startTerm; }
+}
@@ -0,0 +1,27 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.CriticalPathService;
+
+import java.util.List;
+
+public class CriticalPathResponse {
+    private MajorResponse major;
+    private int minimumSemesters;
+    private List<CourseResponse> chain;
+
+    public CriticalPathResponse() {}
+
+    public static CriticalPathResponse fromServiceResult(CriticalPathService.CriticalPath path) {
+        CriticalPathResponse response = new CriticalPathResponse();
+        response.major = MajorResponse.fromEntity(path.major());
+        response.minimumSemesters = path.minimumSemesters();
+        response.chain = path.chain().stream()
+                .map(CourseResponse::fromEntity)
+                .toList();
+        return response;
+    }
+
+    public MajorResponse getMajor() { return major; }
+    public int getMinimumSemesters() { return minimumSemesters; }
+    public List<CourseResponse> getChain() { return chain; }
+}
@@ -0,0 +1,35 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.PlanService;
+
+import java.util.List;
+
+public class DegreePlanResponse {
+    private MajorResponse major;
+    private int maxCreditsPerSemester;
+    private int totalCredits;
+    private List<PlannedSemesterResponse> semesters;
+    private List<RequirementResponse> unmetRequirements;
+
+    public DegreePlanResponse() {}
+
+    public static DegreePlanResponse fromServiceResult(PlanService.DegreePlan plan) {
+        DegreePlanResponse response = new DegreePlanResponse();
+        response.major = MajorResponse.fromEntity(plan.major());
+        response.maxCreditsPerSemester = plan.maxCreditsPerSemester();
+        response.totalCredits = plan.totalCredits();
+        response.semesters = plan.semesters().stream()
+                .map(PlannedSemesterResponse::fromServiceResult)
+                .toList();
+        response.unmetRequirements = plan.unmetRequirements().stream()
+                .map(RequirementResponse::fromEntity)
+                .toList();
+        return response;
+    }
+
+    public MajorResponse getMajor() { return major; }
+    public int getMaxCreditsPerSemester() { return maxCreditsPerSemester; }
+    public int getTotalCredits() { return totalCredits; }
+    public List<PlannedSemesterResponse> getSemesters() { return semesters; }
+    public List<RequirementResponse> getUnmetRequirements() { return unmetRequirements; }
+}
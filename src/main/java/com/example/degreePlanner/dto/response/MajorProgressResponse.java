@@ -11,6 +11,7 @@ public class MajorProgressResponse {
     private int creditsRemaining;
     private double percentComplete;
     private List<RequirementProgressResponse> requirements;
+    private ProjectedProgressResponse projected;
 
     public MajorProgressResponse() {}
 
@@ -24,6 +25,7 @@ public class MajorProgressResponse {
         response.requirements = progress.requirements().stream()
                 .map(RequirementProgressResponse::fromServiceResult)
                 .toList();
+        response.projected = ProjectedProgressResponse.fromServiceResult(progress.projected());
         return response;
     }
 
@@ -33,4 +35,5 @@ public class MajorProgressResponse {
     public int getCreditsRemaining() { return creditsRemaining; }
     public double getPercentComplete() { return percentComplete; }
     public List<RequirementProgressResponse> getRequirements() { return requirements; }
+    public ProjectedProgressResponse getProjected() { return projected; }
 }
@@ -0,0 +1,36 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.MaterializedProgressService;
+
+import java.util.List;
+
+public class MajorProgressSummaryResponse {
+    private MajorResponse major;
+    private int totalCreditsRequired;
+    private int creditsCompleted;
+    private int creditsRemaining;
+    private double percentComplete;
+    private List<RequirementProgressSummaryResponse> requirements;
+
+    public MajorProgressSummaryResponse() {}
+
+    public static MajorProgressSummaryResponse fromServiceResult(MaterializedProgressService.MajorProgressSummary summary) {
+        MajorProgressSummaryResponse response = new MajorProgressSummaryResponse();
+        response.major = MajorResponse.fromEntity(summary.major());
+        response.totalCreditsRequired = summary.totalCreditsRequired();
+        response.creditsCompleted = summary.creditsCompleted();
+        response.creditsRemaining = summary.creditsRemaining();
+        response.percentComplete = summary.percentComplete();
+        response.requirements = summary.requirements().stream()
+                .map(RequirementProgressSummaryResponse::fromEntity)
+                .toList();
+        return response;
+    }
+
+    public MajorResponse getMajor() { return major; }
+    public int getTotalCreditsRequired() { return totalCreditsRequired; }
+    public int getCreditsCompleted() { return creditsCompleted; }
+    public int getCreditsRemaining() { return creditsRemaining; }
+    public double getPercentComplete() { return percentComplete; }
+    public List<RequirementProgressSummaryResponse> getRequirements() { return requirements; }
+}
@@ -0,0 +1,35 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.ProgressService;
+
+public class MajorRankingResponse {
+    private MajorResponse major;
+    private boolean declared;
+    private int creditsCompleted;
+    private int creditsRemaining;
+    private double percentComplete;
+    private int requirementsCompleted;
+    private int requirementsTotal;
+
+    public MajorRankingResponse() {}
+
+    public static MajorRankingResponse fromServiceResult(ProgressService.MajorRanking ranking) {
+        MajorRankingResponse response = new MajorRankingResponse();
+        response.major = MajorResponse.fromEntity(ranking.major());
+        response.declared = ranking.declared();
+        response.creditsCompleted = ranking.creditsCompleted();
+        response.creditsRemaining = ranking.creditsRemaining();
+        response.percentComplete = ranking.percentComplete();
+        response.requirementsCompleted = ranking.requirementsCompleted();
+        response.requirementsTotal = ranking.requirementsTotal();
+        return response;
+    }
+
+    public MajorResponse getMajor() { return major; }
+    public boolean isDeclared() { return declared; }
+    public int getCreditsCompleted() { return creditsCompleted; }
+    public int getCreditsRemaining() { return creditsRemaining; }
+    public double getPercentComplete() { return percentComplete; }
+    public int getRequirementsCompleted() { return requirementsCompleted; }
+    public int getRequirementsTotal() { return requirementsTotal; }
+}
@@ -9,6 +9,7 @@ public class MajorResponse {
     private String designation;
     private String description;
     private int totalCreditsRequired;
+    private Integer maxRequirementsPerCourse;
 
     public MajorResponse() {}
 
@@ -20,6 +21,7 @@ public class MajorResponse {
         response.designation = major.getDesignation();
         response.description = major.getDescription();
         response.totalCreditsRequired = major.getTotalCreditsRequired();
+        response.maxRequirementsPerCourse = major.getMaxRequirementsPerCourse();
         return response;
     }
 
@@ -29,4 +31,5 @@ public class MajorResponse {
     public String getDesignation() { return designation; }
     public String getDescription() { return description; }
     public int getTotalCreditsRequired() { return totalCreditsRequired; }
+    public Integer getMaxRequirementsPerCourse() { return maxRequirementsPerCourse; }
 }
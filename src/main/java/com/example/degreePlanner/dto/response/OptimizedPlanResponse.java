@@ -0,0 +1,20 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.PlanService;
+
+public class OptimizedPlanResponse {
+    private DegreePlanResponse plan;
+    private boolean exhaustive;
+
+    public OptimizedPlanResponse() {}
+
+    public static OptimizedPlanResponse fromServiceResult(PlanService.OptimizedPlan optimized) {
+        OptimizedPlanResponse response = new OptimizedPlanResponse();
+        response.plan = DegreePlanResponse.fromServiceResult(optimized.plan());
+        response.exhaustive = optimized.exhaustive();
+        return response;
+    }
+
+    public DegreePlanResponse getPlan() { return plan; }
+    public boolean isExhaustive() { return exhaustive; }
+}
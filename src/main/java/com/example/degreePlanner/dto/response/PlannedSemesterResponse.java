@@ -0,0 +1,30 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.PlanService;
+
+import java.util.List;
+
+public class PlannedSemesterResponse {
+    private int number;
+    private String term;
+    private int credits;
+    private List<CourseResponse> courses;
+
+    public PlannedSemesterResponse() {}
+
+    public static PlannedSemesterResponse fromServiceResult(PlanService.PlannedSemester semester) {
+        PlannedSemesterResponse response = new PlannedSemesterResponse();
+        response.number = semester.number();
+        response.term = semester.term() != null ? semester.term().toString() : null;
+        response.credits = semester.credits();
+        response.courses = semester.courses().stream()
+                .map(CourseResponse::fromEntity)
+                .toList();
+        return response;
+    }
+
+    public int getNumber() { return number; }
+    public String getTerm() { return term; }
+    public int getCredits() { return credits; }
+    public List<CourseResponse> getCourses() { return courses; }
+}
@@ -0,0 +1,23 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.ProgressService;
+
+public class ProjectedProgressResponse {
+    private int creditsCompleted;
+    private int creditsRemaining;
+    private double percentComplete;
+
+    public ProjectedProgressResponse() {}
+
+    public static ProjectedProgressResponse fromServiceResult(ProgressService.ProjectedProgress projected) {
+        ProjectedProgressResponse response = new ProjectedProgressResponse();
+        response.creditsCompleted = projected.creditsCompleted();
+        response.creditsRemaining = projected.creditsRemaining();
+        response.percentComplete = projected.percentComplete();
+        return response;
+    }
+
+    public int getCreditsCompleted() { return creditsCompleted; }
+    public int getCreditsRemaining() { return creditsRemaining; }
+    public double getPercentComplete() { return percentComplete; }
+}
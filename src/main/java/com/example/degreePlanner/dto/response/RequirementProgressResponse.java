@@ -12,6 +12,8 @@ public class RequirementProgressResponse {
     private List<CourseResponse> remainingCourses;
     private int creditsCompleted;
     private int creditsRemaining;
+    private RequirementStatus projectedStatus;
+    private int projectedCreditsCompleted;
 
     public RequirementProgressResponse() {}
 
@@ -27,6 +29,8 @@ public class RequirementProgressResponse {
                 .toList();
         response.creditsCompleted = progress.creditsCompleted();
         response.creditsRemaining = progress.creditsRemaining();
+        response.projectedStatus = progress.projectedStatus();
+        response.projectedCreditsCompleted = progress.projectedCreditsCompleted();
         return response;
     }
 
@@ -36,4 +40,6 @@ public class RequirementProgressResponse {
     public List<CourseResponse> getRemainingCourses() { return remainingCourses; }
     public int getCreditsCompleted() { return creditsCompleted; }
     public int getCreditsRemaining() { return creditsRemaining; }
+    public RequirementStatus getProjectedStatus() { return projectedStatus; }
+    public int getProjectedCreditsCompleted() { return projectedCreditsCompleted; }
 }
@@ -0,0 +1,30 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.entity.RequirementStatus;
+import com.example.degreePlanner.entity.StudentRequirementProgress;
+
+public class RequirementProgressSummaryResponse {
+    private Long requirementId;
+    private String name;
+    private RequirementStatus status;
+    private int creditsCompleted;
+    private int creditsRemaining;
+
+    public RequirementProgressSummaryResponse() {}
+
+    public static RequirementProgressSummaryResponse fromEntity(StudentRequirementProgress progress) {
+        RequirementProgressSummaryResponse response = new RequirementProgressSummaryResponse();
+        response.requirementId = progress.getRequirement().getId();
+        response.name = progress.getRequirement().getName();
+        response.status = progress.getStatus();
+        response.creditsCompleted = progress.getCreditsCompleted();
+        response.creditsRemaining = progress.getCreditsRemaining();
+        return response;
+    }
+
+    public Long getRequirementId() { return requirementId; }
+    public String getName() { return name; }
+    public RequirementStatus getStatus() { return status; }
+    public int getCreditsCompleted() { return creditsCompleted; }
+    public int getCreditsRemaining() { return creditsRemaining; }
+}
@@ -0,0 +1,24 @@
+package com.example.degreePlanner.dto.response;
+
+import com.example.degreePlanner.service.EligibilityService;
+
+import java.util.List;
+
+public class StudentEligibilityResponse {
+    private Long studentId;
+    private List<EligibilityResponse> courses;
+
+    public StudentEligibilityResponse() {}
+
+    public static StudentEligibilityResponse fromServiceResult(EligibilityService.StudentEligibility result) {
+        StudentEligibilityResponse response = new StudentEligibilityResponse();
+        response.studentId = result.studentId();
+        response.courses = result.courses().stream()
+                .map(r -> EligibilityResponse.fromCourse(r.course(), r.eligible(), r.missing()))
+                .toList();
+        return response;
+    }
+
+    public Long getStudentId() { return studentId; }
+    public List<EligibilityResponse> getCourses() { return courses; }
+}
@@ -19,6 +19,20 @@ public class Course {
         this.credits = credits;
     }
 
+    /**
+     * Detached copy of another course's columns, id included (see CourseCatalog).
+     */
+    public Course(Course other) {
+        this.id = other.id;
+        this.code = other.code;
+        this.courseNum = other.courseNum;
+        this.title = other.title;
+        this.description = other.description;
+        this.credits = other.credits;
+        this.minCredits = other.minCredits;
+        this.offeredTerms = other.offeredTerms;
+    }
+
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -55,6 +69,14 @@ public class Course {
     public Integer getMinCredits() { return this.minCredits; }
     public void setMinCredits(Integer minCredits) { this.minCredits = minCredits; }
 
+    @Column(nullable = false)
+    private int offeredTerms = Term.EVERY_TERM;  // offering mask, see Term
+    public int getOfferedTerms() { return this.offeredTerms; }
+    public void setOfferedTerms(int offeredTerms) { this.offeredTerms = offeredTerms & Term.EVERY_TERM; }
+
+    @Transient
+    public boolean isOfferedIn(Term term) { return term.isOfferedBy(offeredTerms); }
+
     @Transient
     public boolean hasVariableCredits() { return minCredits != null && minCredits < credits; }
 
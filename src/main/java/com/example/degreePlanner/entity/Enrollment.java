@@ -3,7 +3,9 @@ package com.example.degreePlanner.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "enrollment", uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "semester"}))
+@Table(name = "enrollment",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "semester"}),
+        indexes = @Index(name = "idx_enrollment_student_term", columnList = "student_id, term_index"))
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +26,10 @@ public class Enrollment {
     @Column(nullable = false)
     private String semester;
 
+    // Term.index() of the semester, or null if the semester text is not a recognizable term
+    @Column(name = "term_index")
+    private Integer termIndex;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private EnrollmentStatus enrollmentStatus;
@@ -33,7 +39,7 @@ public class Enrollment {
     public Enrollment(Student student, Course course, String semester, EnrollmentStatus status) {
         this.student = student;
         this.course = course;
-        this.semester = semester;
+        setSemester(semester);
         this.enrollmentStatus = status;
     }
 
@@ -42,11 +48,24 @@ public class Enrollment {
     public Course getCourse() { return course; }
     public Grade getGrade() { return grade; }
     public String getSemester() { return semester; }
+    public Integer getTermIndex() { return termIndex; }
     public EnrollmentStatus getEnrollmentStatus() { return enrollmentStatus; }
 
     public void setStudent(Student student) { this.student = student; }
     public void setCourse(Course course) { this.course = course; }
     public void setGrade(Grade grade) { this.grade = grade; }
-    public void setSemester(String semester) { this.semester = semester; }
+    public void setSemester(String semester) {
+        this.semester = semester;
+        Term term = Term.tryParse(semester);
+        this.termIndex = term != null ? term.index() : null;
+    }
     public void setEnrollmentStatus(EnrollmentStatus status) { this.enrollmentStatus = status; }
-}
\ No newline at end of file
+
+    /**
+     * The semester as a structured term, or null if it is not a recognizable term.
+     */
+    @Transient
+    public Term getTerm() {
+        return termIndex != null ? Term.fromIndex(termIndex) : null;
+    }
+}
@@ -40,6 +40,12 @@ public class Major {
     public int getTotalCreditsRequired() { return this.totalCreditsRequired; }
     public void setTotalCreditsRequired (int totalCreditsRequired) { this.totalCreditsRequired = totalCreditsRequired; }
 
+    // How many requirements one completed course may count toward; null means every requirement that lists it
+    @Column
+    private Integer maxRequirementsPerCourse;
+    public Integer getMaxRequirementsPerCourse() { return this.maxRequirementsPerCourse; }
+    public void setMaxRequirementsPerCourse (Integer maxRequirementsPerCourse) { this.maxRequirementsPerCourse = maxRequirementsPerCourse; }
+
     protected Major(){}
 
     public Major(String name, String code, String designation, String description, int totalCreditsRequired) {
@@ -0,0 +1,11 @@
+package com.example.degreePlanner.entity;
+
+/**
+ * Academic seasons in calendar order; the order is used for term arithmetic (see Term).
+ */
+public enum Season {
+    WINTER,
+    SPRING,
+    SUMMER,
+    FALL
+}
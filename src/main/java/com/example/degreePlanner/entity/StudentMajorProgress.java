@@ -0,0 +1,45 @@
+package com.example.degreePlanner.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Materialized per-major credit total for one student (each completed course counted once).
+ * Its presence also marks the student's requirement rows for that major as materialized.
+ */
+@Entity
+@Table(name = "student_major_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "major_id"}))
+public class StudentMajorProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne
+    @JoinColumn(name = "major_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Major major;
+
+    @Column(nullable = false)
+    private int creditsCompleted;
+
+    protected StudentMajorProgress() {}
+
+    public StudentMajorProgress(Student student, Major major) {
+        this.student = student;
+        this.major = major;
+    }
+
+    public Long getId() { return id; }
+    public Student getStudent() { return student; }
+    public Major getMajor() { return major; }
+    public int getCreditsCompleted() { return creditsCompleted; }
+
+    public void setCreditsCompleted(int creditsCompleted) { this.creditsCompleted = creditsCompleted; }
+}
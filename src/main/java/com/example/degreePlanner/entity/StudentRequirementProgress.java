@@ -0,0 +1,56 @@
+package com.example.degreePlanner.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Materialized progress of one student toward one requirement.
+ * Kept current by MaterializedProgressService; read back as-is by the progress summary endpoint.
+ */
+@Entity
+@Table(name = "student_requirement_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "requirement_id"}))
+public class StudentRequirementProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne
+    @JoinColumn(name = "requirement_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Requirement requirement;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RequirementStatus status;
+
+    @Column(nullable = false)
+    private int creditsCompleted;
+
+    @Column(nullable = false)
+    private int creditsRemaining;
+
+    protected StudentRequirementProgress() {}
+
+    public StudentRequirementProgress(Student student, Requirement requirement) {
+        this.student = student;
+        this.requirement = requirement;
+    }
+
+    public Long getId() { return id; }
+    public Student getStudent() { return student; }
+    public Requirement getRequirement() { return requirement; }
+    public RequirementStatus getStatus() { return status; }
+    public int getCreditsCompleted() { return creditsCompleted; }
+    public int getCreditsRemaining() { return creditsRemaining; }
+
+    public void setStatus(RequirementStatus status) { this.status = status; }
+    public void setCreditsCompleted(int creditsCompleted) { this.creditsCompleted = creditsCompleted; }
+    public void setCreditsRemaining(int creditsRemaining) { this.creditsRemaining = creditsRemaining; }
+}
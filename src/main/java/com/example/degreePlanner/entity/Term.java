@@ -0,0 +1,136 @@
+package com.example.degreePlanner.entity;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A structured academic term, e.g. Fall 2024, parsed from the free-text Enrollment.semester.
+ *
+ * Terms map to a dense index (year * 4 + season), so comparing terms or stepping between them is integer arithmetic,
+ * and the index is what Enrollment stores in its indexed term_index column.
+ *
+ * Course offerings are an 8-bit mask with one bit per season in even years and one per season in odd years
+ * (bit = year parity * 4 + season), so "fall only" sets both FALL bits and "fall of odd years" sets one.
+ */
+public record Term(Season season, int year) implements Comparable<Term> {
+
+    /** Offering mask for a course offered in every term. */
+    public static final int EVERY_TERM = 0xFF;
+
+    private static final int SEASONS = Season.values().length;
+
+    private static final Pattern SEASON_YEAR = Pattern.compile("^\\s*([a-z]+)[\\s-]*(\\d{4})\\s*$");
+    private static final Pattern YEAR_SEASON = Pattern.compile("^\\s*(\\d{4})[\\s-]*([a-z]+)\\s*$");
+
+    public Term {
+        if (season == null) {
+            throw new IllegalArgumentException("Season is required");
+        }
+    }
+
+    /**
+     * Parse "Fall 2024", "fall-2024" or "2024 Fall" (case-insensitive; "Autumn" is read as fall).
+     *
+     * @throws IllegalArgumentException if the text is not a term
+     */
+    public static Term parse(String text) {
+        Term term = tryParse(text);
+        if (term == null) {
+            throw new IllegalArgumentException("Not a term: '" + text + "' (expected e.g. 'Fall 2024')");
+        }
+        return term;
+    }
+
+    /**
+     * Like parse, but returns null for text that is not a term.
+     */
+    public static Term tryParse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        Matcher matcher = SEASON_YEAR.matcher(lower);
+        if (matcher.matches()) {
+            return of(matcher.group(1), matcher.group(2));
+        }
+        matcher = YEAR_SEASON.matcher(lower);
+        if (matcher.matches()) {
+            return of(matcher.group(2), matcher.group(1));
+        }
+        return null;
+    }
+
+    private static Term of(String season, String year) {
+        Season parsed = switch (season) {
+            case "winter" -> Season.WINTER;
+            case "spring" -> Season.SPRING;
+            case "summer" -> Season.SUMMER;
+            case "fall", "autumn" -> Season.FALL;
+            default -> null;
+        };
+        return parsed == null ? null : new Term(parsed, Integer.parseInt(year));
+    }
+
+    public static Term fromIndex(int index) {
+        return new Term(Season.values()[Math.floorMod(index, SEASONS)], Math.floorDiv(index, SEASONS));
+    }
+
+    public int index() {
+        return year * SEASONS + season.ordinal();
+    }
+
+    /**
+     * The next fall or spring term after this one (planning only schedules regular semesters).
+     */
+    public Term nextRegular() {
+        int index = index() + 1;
+        while (!fromIndex(index).isRegular()) {
+            index++;
+        }
+        return fromIndex(index);
+    }
+
+    public boolean isRegular() {
+        return season == Season.FALL || season == Season.SPRING;
+    }
+
+    /**
+     * Bit of this term in a course's offering mask.
+     */
+    public int offeringBit() {
+        return (year & 1) * SEASONS + season.ordinal();
+    }
+
+    public boolean isOfferedBy(int offeringMask) {
+        return (offeringMask & (1 << offeringBit())) != 0;
+    }
+
+    /**
+     * Offering mask for the given seasons, in even years, odd years, or both.
+     */
+    public static int offeringMask(Collection<Season> seasons, boolean evenYears, boolean oddYears) {
+        int mask = 0;
+        for (Season season : seasons) {
+            if (evenYears) {
+                mask |= 1 << season.ordinal();
+            }
+            if (oddYears) {
+                mask |= 1 << (SEASONS + season.ordinal());
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public int compareTo(Term other) {
+        return Integer.compare(index(), other.index());
+    }
+
+    @Override
+    public String toString() {
+        String name = season.name();
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT) + " " + year;
+    }
+}
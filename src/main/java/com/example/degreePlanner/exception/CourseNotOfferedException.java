@@ -0,0 +1,7 @@
+package com.example.degreePlanner.exception;
+
+public class CourseNotOfferedException extends RuntimeException {
+    public CourseNotOfferedException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.degreePlanner.repository;
 import com.example.degreePlanner.entity.Course;
 import com.example.degreePlanner.entity.Major;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +17,8 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     Optional<Course> findCourseByCodeAndCourseNum(String code, String num);
 
+    // (courseId, offering mask) pairs for courses not offered in every term, without loading Course entities
+    @Query("SELECT c.id, c.offeredTerms FROM Course c WHERE c.offeredTerms <> 255")
+    List<Object[]> findRestrictedOfferings();
+
 }
\ No newline at end of file
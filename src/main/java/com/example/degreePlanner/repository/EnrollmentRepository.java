@@ -5,16 +5,27 @@ import com.example.degreePlanner.entity.Enrollment;
 import com.example.degreePlanner.entity.EnrollmentStatus;
 import com.example.degreePlanner.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     boolean existsByStudentAndCourseAndSemester(Student student, Course course, String semester);
 
+    boolean existsByStudentAndCourseAndTermIndex(Student student, Course course, Integer termIndex);
+
     List<Enrollment> findByStudent(Student student);
 
     List<Enrollment> findByStudentAndSemester(Student student, String semester);
 
+    List<Enrollment> findByStudentAndTermIndex(Student student, Integer termIndex);
+
     List<Enrollment> findByStudentAndEnrollmentStatus(Student student, EnrollmentStatus status);
+
+    // (studentId, courseId) pairs for many students at once, without loading Enrollment or Course entities
+    @Query("SELECT e.student.id, e.course.id FROM Enrollment e WHERE e.student.id IN :studentIds AND e.enrollmentStatus = :status")
+    List<Object[]> findStudentCourseIdPairs(@Param("studentIds") Collection<Long> studentIds, @Param("status") EnrollmentStatus status);
 }
@@ -2,10 +2,16 @@ package com.example.degreePlanner.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.example.degreePlanner.entity.Prerequisite;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PrerequisiteRepository extends JpaRepository<Prerequisite, Long> {
     Optional<Prerequisite> findByCourseId(Long courseId);
     void deleteByCourseId(Long courseId);
+
+    // Every prerequisite group (roots and nested) with its items in one query, so whole trees can be built in memory
+    @Query("SELECT DISTINCT p FROM Prerequisite p LEFT JOIN FETCH p.course LEFT JOIN FETCH p.items i LEFT JOIN FETCH i.course")
+    List<Prerequisite> findAllWithItems();
 }
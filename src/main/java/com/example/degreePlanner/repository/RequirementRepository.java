@@ -1,9 +1,13 @@
 package com.example.degreePlanner.repository;
 
+import com.example.degreePlanner.entity.Major;
 import com.example.degreePlanner.entity.Requirement;
 import com.example.degreePlanner.entity.RequirementType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RequirementRepository extends JpaRepository<Requirement, Long> {
@@ -14,6 +18,18 @@ public interface RequirementRepository extends JpaRepository<Requirement, Long>
     // Find by major and type
     List<Requirement> findByMajorCodeAndMajorDesignationAndType(String code, String designation, RequirementType type);
 
+    // Requirements of several majors at once, with their course lists already loaded
+    @Query("SELECT DISTINCT r FROM Requirement r LEFT JOIN FETCH r.courses WHERE r.major IN :majors ORDER BY r.id")
+    List<Requirement> findByMajorInWithCourses(@Param("majors") Collection<Major> majors);
+
+    // Same, by major id (used to build the cached RequirementIndex)
+    @Query("SELECT DISTINCT r FROM Requirement r LEFT JOIN FETCH r.courses WHERE r.major.id IN :majorIds ORDER BY r.id")
+    List<Requirement> findByMajorIdInWithCourses(@Param("majorIds") Collection<Long> majorIds);
+
+    // Majors with at least one requirement listing the course
+    @Query("SELECT DISTINCT r.major.id FROM Requirement r JOIN r.courses c WHERE c.id = :courseId")
+    List<Long> findMajorIdsByCourseId(@Param("courseId") Long courseId);
+
     // Check if exists
     boolean existsByMajorCodeAndMajorDesignationAndName(String code, String designation, String name);
 }
@@ -0,0 +1,25 @@
+package com.example.degreePlanner.repository;
+
+import com.example.degreePlanner.entity.StudentMajorProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentMajorProgressRepository extends JpaRepository<StudentMajorProgress, Long> {
+
+    @Query("SELECT p FROM StudentMajorProgress p JOIN FETCH p.major WHERE p.student.id = :studentId")
+    List<StudentMajorProgress> findByStudentIdWithMajor(@Param("studentId") Long studentId);
+
+    Optional<StudentMajorProgress> findByStudentIdAndMajorId(Long studentId, Long majorId);
+
+    List<StudentMajorProgress> findByMajorIdAndStudentIdIn(Long majorId, Collection<Long> studentIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentMajorProgress p WHERE p.student.id = :studentId AND p.major.id = :majorId")
+    void deleteByStudentIdAndMajorId(@Param("studentId") Long studentId, @Param("majorId") Long majorId);
+}
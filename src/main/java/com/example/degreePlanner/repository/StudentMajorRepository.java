@@ -19,6 +19,9 @@ public interface StudentMajorRepository extends JpaRepository<StudentMajor, Long
 
     long countByStudent(Student student);
 
+    @Query("SELECT sm.student.id FROM StudentMajor sm WHERE sm.major = :major ORDER BY sm.student.id")
+    List<Long> findStudentIdsByMajor(@Param("major") Major major);
+
     Optional<StudentMajor> findByStudentAndMajor(Student student, Major major);
 
     @Modifying
@@ -0,0 +1,28 @@
+package com.example.degreePlanner.repository;
+
+import com.example.degreePlanner.entity.StudentRequirementProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentRequirementProgressRepository extends JpaRepository<StudentRequirementProgress, Long> {
+
+    @Query("SELECT p FROM StudentRequirementProgress p JOIN FETCH p.requirement WHERE p.student.id = :studentId ORDER BY p.requirement.id")
+    List<StudentRequirementProgress> findByStudentIdWithRequirement(@Param("studentId") Long studentId);
+
+    @Query("SELECT p FROM StudentRequirementProgress p WHERE p.student.id = :studentId AND p.requirement.major.id = :majorId")
+    List<StudentRequirementProgress> findByStudentIdAndMajorId(@Param("studentId") Long studentId, @Param("majorId") Long majorId);
+
+    @Query("SELECT p FROM StudentRequirementProgress p WHERE p.requirement.major.id = :majorId AND p.student.id IN :studentIds")
+    List<StudentRequirementProgress> findByMajorIdAndStudentIdIn(@Param("majorId") Long majorId,
+                                                                 @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentRequirementProgress p WHERE p.student.id = :studentId " +
+            "AND p.requirement.id IN (SELECT r.id FROM Requirement r WHERE r.major.id = :majorId)")
+    void deleteByStudentIdAndMajorId(@Param("studentId") Long studentId, @Param("majorId") Long majorId);
+}
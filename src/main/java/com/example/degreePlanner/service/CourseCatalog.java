@@ -0,0 +1,280 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import com.example.degreePlanner.repository.CourseRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable in-memory copy of the course catalog, serving course reads without a query.
+ *
+ * A snapshot holds detached copies of every course in id order, indexed by id and by code + course number.
+ * It is loaded with a single query on first use; after that CourseService applies each of its writes copy-on-write,
+ * building a new snapshot and swapping it in atomically, so readers never lock and never see a half-applied write.
+ *
+ * Writes reach the shared snapshot only once their transaction commits. Until then the writing transaction reads
+ * a snapshot of its own, loaded from the database so it includes its writes, which is never shared (isShared).
+ *
+ * Every shared snapshot carries a version, and every change moves the version forward, so other components can key
+ * derived caches on getVersion().
+ */
+@Component
+public class CourseCatalog {
+
+    private final CourseRepository courseRepository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public CourseCatalog(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * One immutable version of the catalog. Its courses are detached copies and must not be modified.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final boolean shared;
+        private final List<Course> courses;              // In id order
+        private final Map<Long, Course> byId;
+        private final Map<CourseKey, Course> byCodeAndNum;
+
+        private Snapshot(long version, boolean shared, List<Course> courses) {
+            Map<Long, Course> byId = new HashMap<>();
+            Map<CourseKey, Course> byCodeAndNum = new HashMap<>();
+            for (Course course : courses) {
+                byId.put(course.getId(), course);
+                byCodeAndNum.put(CourseKey.of(course.getCode(), course.getCourseNum()), course);
+            }
+            this.version = version;
+            this.shared = shared;
+            this.courses = Collections.unmodifiableList(courses);
+            this.byId = byId;
+            this.byCodeAndNum = byCodeAndNum;
+        }
+
+        public long getVersion() { return version; }
+
+        /**
+         * False for a transaction's view of its own uncommitted writes; its version is then the shared version
+         * it was read at, and does not identify its contents.
+         */
+        public boolean isShared() { return shared; }
+
+        public List<Course> getCourses() { return courses; }
+
+        /**
+         * The course with this id, or null.
+         */
+        public Course get(Long courseId) {
+            return byId.get(courseId);
+        }
+
+        /**
+         * The course with this code and course number, or null. Matched ignoring case, like the database collation.
+         */
+        public Course get(String code, String courseNum) {
+            return byCodeAndNum.get(CourseKey.of(code, courseNum));
+        }
+
+        /**
+         * Copy of this snapshot with the course added, or replacing the course with the same id.
+         */
+        private Snapshot with(Course course, long version) {
+            List<Course> next = new ArrayList<>(courses.size() + 1);
+            for (Course existing : courses) {
+                if (!existing.getId().equals(course.getId())) {
+                    next.add(existing);
+                }
+            }
+            next.add(course);
+            next.sort(Comparator.comparing(Course::getId));
+            return new Snapshot(version, shared, next);
+        }
+
+        private Snapshot without(Long courseId, long version) {
+            List<Course> next = new ArrayList<>(courses.size());
+            for (Course existing : courses) {
+                if (!existing.getId().equals(courseId)) {
+                    next.add(existing);
+                }
+            }
+            return new Snapshot(version, shared, next);
+        }
+    }
+
+    private record CourseKey(String code, String courseNum) {
+        static CourseKey of(String code, String courseNum) {
+            return new CourseKey(code.toUpperCase(Locale.ROOT), courseNum.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Writes of the current transaction, applied to the shared snapshot once it commits,
+     * and the transaction's own view of the catalog, reloaded on first use after each write.
+     */
+    private static final class PendingWrites {
+        private final List<BiFunction<Snapshot, Long, Snapshot>> changes = new ArrayList<>();
+        private Snapshot view;
+    }
+
+    /**
+     * The current snapshot, loading it from the database if there is none. Inside a transaction that wrote courses,
+     * the transaction's own view instead.
+     */
+    public Snapshot snapshot() {
+        PendingWrites pending = pendingWrites();
+        if (pending != null) {
+            if (pending.view == null) {
+                pending.view = new Snapshot(versions.get(), false, loadCourses());
+            }
+            return pending.view;
+        }
+
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : load();
+    }
+
+    /**
+     * Version of the shared catalog; it increases with every change, and never goes back.
+     */
+    public long getVersion() {
+        return versions.get();
+    }
+
+    /**
+     * Swap in a snapshot with the course as saved, once the surrounding transaction commits.
+     */
+    public void put(Course course) {
+        Course copy = new Course(course);
+        write((snapshot, version) -> snapshot.with(copy, version));
+    }
+
+    /**
+     * Swap in a snapshot without the course, once the surrounding transaction commits.
+     */
+    public void remove(Long courseId) {
+        write((snapshot, version) -> snapshot.without(courseId, version));
+    }
+
+    /**
+     * Drop the snapshot once the surrounding transaction commits, for writes too large to apply one course at a time
+     * (bulk import); the next read reloads it.
+     */
+    public void invalidate() {
+        write((snapshot, version) -> null);
+    }
+
+    /**
+     * Apply a change now outside a transaction, or record it to apply when the transaction commits.
+     * Nothing is applied on rollback, since the shared snapshot never saw the change.
+     */
+    private void write(BiFunction<Snapshot, Long, Snapshot> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            PendingWrites bound = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (BiFunction<Snapshot, Long, Snapshot> committed : bound.changes) {
+                        apply(committed);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CourseCatalog.this);
+                }
+            });
+            pending = bound;
+        }
+        pending.changes.add(change);
+        pending.view = null;
+    }
+
+    private PendingWrites pendingWrites() {
+        return (PendingWrites) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Apply a change to the current snapshot and swap the result in. The version moves forward even with no snapshot
+     * loaded, so a load that started before the change is not installed.
+     */
+    private synchronized void apply(BiFunction<Snapshot, Long, Snapshot> change) {
+        long version = versions.incrementAndGet();
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            current.set(change.apply(snapshot, version));
+        }
+    }
+
+    /**
+     * Load a snapshot and install it, unless a change was applied while it loaded - the load may then have read
+     * the catalog from before that change committed - or another thread installed one first. If the surrounding
+     * transaction rolls back an installed snapshot is dropped, since it may include courses saved without going
+     * through CourseService that never committed.
+     */
+    private Snapshot load() {
+        long seen = versions.get();
+        List<Course> courses = loadCourses();
+
+        Snapshot loaded;
+        synchronized (this) {
+            Snapshot existing = current.get();
+            if (existing != null) {
+                return existing;
+            }
+            if (versions.get() != seen) {
+                return new Snapshot(seen, false, courses);
+            }
+            loaded = new Snapshot(versions.incrementAndGet(), true, courses);
+            current.set(loaded);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        drop(loaded);
+                    }
+                }
+            });
+        }
+        return loaded;
+    }
+
+    private synchronized void drop(Snapshot loaded) {
+        if (current.get() == loaded) {
+            versions.incrementAndGet();
+            current.set(null);
+        }
+    }
+
+    private List<Course> loadCourses() {
+        List<Course> courses = new ArrayList<>();
+        for (Course course : courseRepository.findAll()) {
+            courses.add(new Course(course));
+        }
+        courses.sort(Comparator.comparing(Course::getId));
+        return courses;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense mapping from course id to a small bit position, so sets of courses can be held in a BitSet.
+ * Positions are handed out on first sight and never reused; a deleted course just leaves an unused bit.
+ */
+@Component
+public class CourseIndex {
+
+    private final ConcurrentMap<Long, Integer> indexById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Long> idByIndex = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Bit position for a course id, assigning the next free position if the id is new.
+     */
+    public int indexOf(Long courseId) {
+        Integer index = indexById.get(courseId);
+        if (index != null) {
+            return index;
+        }
+        return indexById.computeIfAbsent(courseId, id -> {
+            int assigned = nextIndex.getAndIncrement();
+            idByIndex.put(assigned, id);
+            return assigned;
+        });
+    }
+
+    /**
+     * Course id for a bit position, or null if the position was never assigned.
+     */
+    public Long getCourseId(int index) {
+        return idByIndex.get(index);
+    }
+
+    /**
+     * Number of positions handed out so far; every assigned position is below this.
+     */
+    public int size() {
+        return nextIndex.get();
+    }
+
+    public BitSet toBitSet(Collection<Course> courses) {
+        BitSet bits = new BitSet();
+        for (Course course : courses) {
+            bits.set(indexOf(course.getId()));
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over course titles and descriptions, ranked with BM25.
+ *
+ * The index follows CourseCatalog: it remembers the catalog version it reflects, and when a search sees a newer
+ * snapshot it re-indexes only the courses whose snapshot entries changed (the catalog swaps in a new copy of a
+ * course on each write and shares the rest), and drops the courses that are gone. It is built once at startup
+ * so the first search does not pay for it. A snapshot that is not shared (a transaction's view of its own writes)
+ * is indexed for that one search and never touches the shared index.
+ *
+ * Title words count twice, so a course named after the query ranks above one that only mentions it.
+ */
+@Component
+public class CourseSearchIndex {
+
+    // BM25 term-frequency saturation and document-length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private final CourseCatalog courseCatalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Documents shared = new Documents();   // Guarded by lock
+    private volatile long indexedVersion = -1;
+
+    public CourseSearchIndex(CourseCatalog courseCatalog) {
+        this.courseCatalog = courseCatalog;
+    }
+
+    /**
+     * Result record for one matching course and its score.
+     */
+    public record Hit(Course course, double score) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAtStartup() {
+        CourseCatalog.Snapshot snapshot = courseCatalog.snapshot();
+        if (snapshot.isShared()) {
+            refresh(snapshot);
+        }
+    }
+
+    /**
+     * Courses matching any of the query's terms, best first (ties by id), at most limit of them.
+     * A query with no indexable words (only stop words or punctuation) matches nothing.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(CourseTextAnalyzer.analyze(query));
+        CourseCatalog.Snapshot snapshot = courseCatalog.snapshot();
+        if (!snapshot.isShared()) {
+            Documents own = new Documents();
+            own.sync(snapshot);
+            return own.search(queryTerms, limit);
+        }
+
+        refresh(snapshot);
+        lock.readLock().lock();
+        try {
+            return shared.search(queryTerms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bring the shared index up to the snapshot, unless it already reflects it or a newer one.
+     */
+    private void refresh(CourseCatalog.Snapshot snapshot) {
+        if (snapshot.getVersion() <= indexedVersion) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (snapshot.getVersion() <= indexedVersion) {
+                return;
+            }
+            shared.sync(snapshot);
+            indexedVersion = snapshot.getVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Postings and document statistics for a set of courses. Not thread-safe.
+     */
+    private static final class Documents {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();   // Term -> course id -> frequency
+        private final Map<Long, Map<String, Integer>> termFrequencies = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();                  // Weighted term count per course
+        private final Map<Long, Course> indexed = new HashMap<>();                   // The snapshot copies indexed
+        private long totalLength = 0;
+
+        private List<Hit> search(Set<String> queryTerms, int limit) {
+            int documents = indexed.size();
+            if (documents == 0 || queryTerms.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    int frequency = match.getValue();
+                    int length = lengths.get(match.getKey());
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    scores.merge(match.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                hits.add(new Hit(indexed.get(score.getKey()), score.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(hit -> hit.course().getId()));
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        }
+
+        /**
+         * Re-index the courses whose snapshot copies changed, and drop the ones the snapshot no longer has.
+         */
+        private void sync(CourseCatalog.Snapshot snapshot) {
+            Set<Long> present = new HashSet<>();
+            for (Course course : snapshot.getCourses()) {
+                present.add(course.getId());
+                Course previous = indexed.get(course.getId());
+                if (previous != course) {
+                    if (previous != null) {
+                        removeDocument(previous.getId());
+                    }
+                    addDocument(course);
+                }
+            }
+            for (Long courseId : new ArrayList<>(indexed.keySet())) {
+                if (!present.contains(courseId)) {
+                    removeDocument(courseId);
+                }
+            }
+        }
+
+        private void addDocument(Course course) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : CourseTextAnalyzer.analyze(course.getTitle())) {
+                frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : CourseTextAnalyzer.analyze(course.getDescription())) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(course.getId(), entry.getValue());
+            }
+            int length = 0;
+            for (int frequency : frequencies.values()) {
+                length += frequency;
+            }
+            termFrequencies.put(course.getId(), frequencies);
+            lengths.put(course.getId(), length);
+            indexed.put(course.getId(), course);
+            totalLength += length;
+        }
+
+        private void removeDocument(Long courseId) {
+            Map<String, Integer> frequencies = termFrequencies.remove(courseId);
+            indexed.remove(courseId);
+            if (frequencies == null) {
+                return;
+            }
+            totalLength -= lengths.remove(courseId);
+            for (String term : frequencies.keySet()) {
+                Map<Long, Integer> matches = postings.get(term);
+                matches.remove(courseId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.degreePlanner.dto.request.SetPrerequisitesRequest;
 import com.example.degreePlanner.entity.Course;
 import com.example.degreePlanner.entity.Prerequisite;
 import com.example.degreePlanner.entity.PrerequisiteType;
+import com.example.degreePlanner.entity.Term;
 import com.example.degreePlanner.exception.DuplicateResourceException;
 import com.example.degreePlanner.repository.CourseRepository;
 import org.springframework.stereotype.Service;
@@ -16,28 +17,78 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.degreePlanner.dto.request.CourseImportRequest;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Transactional
 public class CourseService {
     private final CourseRepository courseRepository;
     private final PrerequisiteRepository prerequisiteRepository;
-    public CourseService(CourseRepository courseRepository,  PrerequisiteRepository prerequisiteRepository) {
+    private final PrerequisiteCircuitCache prerequisiteCircuitCache;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final MaterializedProgressService materializedProgressService;
+    private final RequirementIndexCache requirementIndexCache;
+    private final TermOfferingIndex termOfferingIndex;
+    private final CourseCatalog courseCatalog;
+    private final CourseSearchIndex courseSearchIndex;
+    public CourseService(CourseRepository courseRepository,  PrerequisiteRepository prerequisiteRepository,
+                         PrerequisiteCircuitCache prerequisiteCircuitCache, PrerequisiteGraph prerequisiteGraph,
+                         MaterializedProgressService materializedProgressService,
+                         RequirementIndexCache requirementIndexCache,
+                         TermOfferingIndex termOfferingIndex,
+                         CourseCatalog courseCatalog,
+                         CourseSearchIndex courseSearchIndex) {
         this.courseRepository = courseRepository;
         this.prerequisiteRepository = prerequisiteRepository;
+        this.prerequisiteCircuitCache = prerequisiteCircuitCache;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.materializedProgressService = materializedProgressService;
+        this.requirementIndexCache = requirementIndexCache;
+        this.termOfferingIndex = termOfferingIndex;
+        this.courseCatalog = courseCatalog;
+        this.courseSearchIndex = courseSearchIndex;
     }
 
     public Course createCourse(Course course) {
         if (courseRepository.existsByCodeAndCourseNum(course.getCode(), course.getCourseNum())) {
             throw new DuplicateResourceException("Course with identity " + course.getCode() + course.getCourseNum() + " already exists");
         }
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        prerequisiteCircuitCache.invalidate(saved.getId());
+        if (saved.getOfferedTerms() != Term.EVERY_TERM) {
+            termOfferingIndex.invalidate();
+        }
+        courseCatalog.put(saved);
+        return saved;
     }
 
+    /**
+     * Every course in id order, served from the catalog snapshot.
+     */
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return courseCatalog.snapshot().getCourses();
+    }
+
+    /**
+     * Keyword search over course titles and descriptions, best match first.
+     *
+     * @throws IllegalArgumentException if the query is blank
+     */
+    public List<Course> searchCourses(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return courseSearchIndex.search(query, limit).stream()
+                .map(CourseSearchIndex.Hit::course)
+                .toList();
     }
 
     public Course getCourseById(Long id) {
@@ -52,7 +103,15 @@ public class CourseService {
         return courses;
     }
 
+    /**
+     * Served from the catalog snapshot. A course the snapshot lacks (saved without going through this service)
+     * is read from the database as-is; a read never writes to the catalog.
+     */
     public Course getCourseByCodeAndCourseNum(String code, String courseNum) {
+        Course cached = courseCatalog.snapshot().get(code, courseNum);
+        if (cached != null) {
+            return cached;
+        }
         return courseRepository.findCourseByCodeAndCourseNum(code, courseNum).orElseThrow(() -> new ResourceNotFoundException("Course " + code+courseNum + " not found"));
     }
 
@@ -64,9 +123,21 @@ public class CourseService {
         existing.setCourseNum(course.getCourseNum());
         existing.setTitle(course.getTitle());
         existing.setDescription(course.getDescription());
+        boolean creditsChanged = existing.getCredits() != course.getCredits();
         existing.setCredits(course.getCredits());
+        boolean offeringChanged = existing.getOfferedTerms() != course.getOfferedTerms();
+        existing.setOfferedTerms(course.getOfferedTerms());
 
-        return courseRepository.save(existing);
+        Course saved = courseRepository.save(existing);
+        if (creditsChanged) {
+            requirementIndexCache.invalidateCourse(saved.getId());
+            materializedProgressService.refreshMajorsWithCourse(saved.getId());
+        }
+        if (offeringChanged) {
+            termOfferingIndex.invalidate();
+        }
+        courseCatalog.put(saved);
+        return saved;
 
     }
 
@@ -77,8 +148,21 @@ public class CourseService {
         existing.setCourseNum(course.getCourseNum());
         existing.setTitle(course.getTitle());
         existing.setDescription(course.getDescription());
+        boolean creditsChanged = existing.getCredits() != course.getCredits();
         existing.setCredits(course.getCredits());
-        return courseRepository.save(existing);
+        boolean offeringChanged = existing.getOfferedTerms() != course.getOfferedTerms();
+        existing.setOfferedTerms(course.getOfferedTerms());
+
+        Course saved = courseRepository.save(existing);
+        if (creditsChanged) {
+            requirementIndexCache.invalidateCourse(saved.getId());
+            materializedProgressService.refreshMajorsWithCourse(saved.getId());
+        }
+        if (offeringChanged) {
+            termOfferingIndex.invalidate();
+        }
+        courseCatalog.put(saved);
+        return saved;
     }
 
     public void deleteCourseByCodeAndCourseNum(String code, String courseNum) {
@@ -86,11 +170,19 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course " + code+courseNum + " not found"));
 
         courseRepository.delete(course);
+        prerequisiteCircuitCache.invalidate(course.getId());
+        requirementIndexCache.invalidateCourse(course.getId());
+        termOfferingIndex.invalidate();
+        courseCatalog.remove(course.getId());
     }
 
     public void deleteCourseById(Long id) {
         Course course = courseRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + id));
         courseRepository.delete(course);
+        prerequisiteCircuitCache.invalidate(id);
+        requirementIndexCache.invalidateCourse(id);
+        termOfferingIndex.invalidate();
+        courseCatalog.remove(id);
     }
 
     public Prerequisite setPrerequisites(Long courseId, PrerequisiteType type, List<Long> requiredCourseIds) {
@@ -119,7 +211,10 @@ public class CourseService {
         }
 
         // Save and return
-        return prerequisiteRepository.save(prerequisite);
+        Prerequisite saved = prerequisiteRepository.save(prerequisite);
+        prerequisiteCircuitCache.invalidate(courseId);
+        ensureReachable(course);
+        return saved;
     }
 
     public Prerequisite getPrerequisite(Long id) {
@@ -132,6 +227,19 @@ public class CourseService {
 
     public void removePrerequisite(Long courseId) {
         prerequisiteRepository.findByCourseId(courseId).ifPresent(prerequisiteRepository::delete);
+        prerequisiteCircuitCache.invalidate(courseId);
+    }
+
+    /**
+     * Courses whose prerequisites mention this course (directly or inside a nested group).
+     * Served from the reverse index kept by PrerequisiteCircuitCache.
+     */
+    public List<Course> getUnlockedCourses(Long courseId) {
+        if (courseRepository.findById(courseId).isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id " + courseId);
+        }
+
+        return courseRepository.findAllById(prerequisiteCircuitCache.getDependents(courseId));
     }
 
     /**
@@ -156,7 +264,55 @@ public class CourseService {
             root.getItems().add(item);
         }
 
-        return prerequisiteRepository.save(root);
+        Prerequisite saved = prerequisiteRepository.save(root);
+        prerequisiteCircuitCache.invalidate(courseId);
+        ensureReachable(course);
+        return saved;
+    }
+
+    /**
+     * Catalog health: groups of courses that require each other, and courses that can never be taken.
+     */
+    public CatalogHealthReport getCatalogHealth() {
+        List<List<Long>> cycleIds = prerequisiteGraph.findCycles();
+        Set<Long> unreachableIds = prerequisiteGraph.getUnreachable();
+
+        Set<Long> ids = new HashSet<>(unreachableIds);
+        cycleIds.forEach(ids::addAll);
+        Map<Long, Course> byId = new HashMap<>();
+        for (Course course : courseRepository.findAllById(ids)) {
+            byId.put(course.getId(), course);
+        }
+
+        List<List<Course>> cycles = cycleIds.stream()
+                .map(cycle -> cycle.stream().map(byId::get).filter(Objects::nonNull).toList())
+                .toList();
+        List<Course> unreachable = unreachableIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        return new CatalogHealthReport(prerequisiteCircuitCache.getCoursesWithPrerequisites().size(), cycles, unreachable);
+    }
+
+    /**
+     * Reject a prerequisite write that leaves the course impossible to take (it sits on a cycle with no way in).
+     * Throwing rolls the write back.
+     */
+    private void ensureReachable(Course course) {
+        if (prerequisiteGraph.isReachable(course.getId())) {
+            return;
+        }
+
+        String message = "Prerequisites for " + course.getCode() + " " + course.getCourseNum() + " can never be satisfied";
+        List<Long> cycle = prerequisiteGraph.findCycle(course.getId());
+        if (!cycle.isEmpty()) {
+            Map<Long, Course> byId = new HashMap<>();
+            for (Course member : courseRepository.findAllById(cycle)) {
+                byId.put(member.getId(), member);
+            }
+            message += " (circular dependency: " + String.join(" -> ", cycle.stream()
+                    .map(id -> byId.containsKey(id) ? byId.get(id).getCode() + " " + byId.get(id).getCourseNum() : String.valueOf(id))
+                    .toList()) + ")";
+        }
+        throw new IllegalStateException(message);
     }
 
     /**
@@ -223,14 +379,20 @@ public class CourseService {
                 }
 
                 courseRepository.save(course);
+                prerequisiteCircuitCache.invalidate(course.getId());
                 imported++;
             } catch (Exception e) {
                 errors.add(req.getDept() + " " + req.getNum() + ": " + e.getMessage());
             }
         }
 
+        if (imported > 0) {
+            courseCatalog.invalidate();
+        }
         return new BulkImportResult(imported, skipped, errors);
     }
 
     public record BulkImportResult(int imported, int skipped, List<String> errors) {}
+
+    public record CatalogHealthReport(int coursesWithPrerequisites, List<List<Course>> cycles, List<Course> unreachable) {}
 }
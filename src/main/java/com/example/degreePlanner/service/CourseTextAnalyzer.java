@@ -0,0 +1,94 @@
+package com.example.degreePlanner.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns course text and search queries into index terms: lower-cased runs of letters and digits,
+ * common English stop words removed, and a light suffix-stripping stemmer so that e.g. "programming",
+ * "programmed" and "programs" all become "program".
+ */
+final class CourseTextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "its", "of", "on", "or", "that", "the", "their", "this", "to", "with");
+
+    private CourseTextAnalyzer() {}
+
+    /**
+     * Index terms of the text, in order, repeats included. Null text has none.
+     */
+    static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Strip plural and -ing/-ed/-ly endings, keeping at least three characters and a vowel in what remains.
+     */
+    static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        for (String suffix : new String[] {"ing", "ed", "ly"}) {
+            if (stem.endsWith(suffix)) {
+                String base = stem.substring(0, stem.length() - suffix.length());
+                if (base.length() >= 3 && hasVowel(base)) {
+                    stem = undouble(base);
+                }
+                break;
+            }
+        }
+        return stem;
+    }
+
+    private static boolean hasVowel(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if ("aeiouy".indexOf(s.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "programm" -> "program", but "spell" and "class" keep their doubled ending
+    private static String undouble(String s) {
+        int n = s.length();
+        char last = s.charAt(n - 1);
+        if (n >= 4 && last == s.charAt(n - 2) && "aeiouylsz".indexOf(last) < 0) {
+            return s.substring(0, n - 1);
+        }
+        return s;
+    }
+}
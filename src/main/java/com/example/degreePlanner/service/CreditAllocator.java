@@ -0,0 +1,216 @@
+package com.example.degreePlanner.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Assigns a student's completed courses to requirements when each course may count toward at most
+ * maxPerCourse requirements, satisfying as many requirements as possible.
+ *
+ * Works like bipartite matching: each course has maxPerCourse slots, and requirements are satisfied one at a time
+ * by augmenting paths. A course whose slots are full is moved away from a requirement that holds it only if that
+ * requirement stays satisfied, either from its surplus credits or by recursively taking another course instead.
+ * A requirement that was satisfied is never given up to satisfy another.
+ * Courses listed by no more than maxPerCourse requirements are not contested and are assigned to all of them
+ * up front, so only contested courses enter the search.
+ *
+ * As in Kuhn's algorithm, a course explored during one augmentation stays visited for the rest of it, which bounds
+ * the augmentation by the number of contested courses. Marks left by a failed branch can be stale, though: the branch
+ * may have moved courses around before failing and being rolled back. While an augmentation is within a small step
+ * budget, failed branches therefore give their marks back so later branches can try those courses again; past it,
+ * marks stay and the search finishes as plain Kuhn.
+ */
+final class CreditAllocator {
+
+    // Steps of an augmentation in which failed branches still unmark their courses: this many per contested course,
+    // and at least MIN_REOPEN_STEPS
+    private static final int REOPEN_STEPS_PER_COURSE = 2;
+    private static final int MIN_REOPEN_STEPS = 64;
+
+    private final BitSet[] courses;     // Listed courses per requirement
+    private final int[] demand;         // Credits needed per requirement
+    private final boolean[] allCourses; // Requirement needs every listed course rather than a credit total
+    private final int[] credits;        // By course bit
+    private final int maxPerCourse;
+
+    // Search state
+    private final BitSet[] allocated;
+    private final int[] held;           // Allocated credits per requirement
+    private final int[] used;           // Requirements holding each course, by course bit
+    private int reopenSteps;            // Left in the current augmentation before its marks become permanent
+
+    private CreditAllocator(BitSet[] courses, int[] demand, boolean[] allCourses, int[] credits, int maxPerCourse) {
+        this.courses = courses;
+        this.demand = demand;
+        this.allCourses = allCourses;
+        this.credits = credits;
+        this.maxPerCourse = maxPerCourse;
+        this.allocated = new BitSet[courses.length];
+        this.held = new int[courses.length];
+        this.used = new int[credits.length];
+        for (int i = 0; i < courses.length; i++) {
+            allocated[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Courses allocated to each requirement (parallel to courses). Every allocated course is completed,
+     * listed by the requirement, and allocated to at most maxPerCourse requirements.
+     */
+    static BitSet[] allocate(BitSet[] courses, int[] demand, boolean[] allCourses, int[] credits,
+                             int maxPerCourse, BitSet completed) {
+        CreditAllocator allocator = new CreditAllocator(courses, demand, allCourses, credits, maxPerCourse);
+        allocator.solve(completed);
+        return allocator.allocated;
+    }
+
+    private void solve(BitSet completed) {
+        // Split completed courses into uncontested (assigned everywhere they count) and contested
+        BitSet contested = new BitSet();
+        for (int c = completed.nextSetBit(0); c >= 0 && c < credits.length; c = completed.nextSetBit(c + 1)) {
+            List<Integer> listers = listers(c);
+            if (listers.size() <= maxPerCourse) {
+                for (int i : listers) {
+                    give(c, i);
+                }
+            } else if (!listers.isEmpty()) {
+                contested.set(c);
+            }
+        }
+        if (contested.isEmpty()) {
+            return;
+        }
+
+        // Requirements closest to being satisfied first, so contested courses go where they finish something
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < courses.length; i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> demand[i] - held[i]));
+
+        for (int i : order) {
+            if (satisfied(i)) {
+                continue;
+            }
+            State before = save();
+            while (!satisfied(i) && augment(i, contested)) {
+                // Keep adding courses until the requirement is met or no augmenting path is left
+            }
+            if (!satisfied(i)) {
+                restore(before); // Partial progress would only take slots from other requirements
+            }
+        }
+
+        // Leftover slots go to requirements that still count the course, unsatisfied ones first
+        for (int c = contested.nextSetBit(0); c >= 0; c = contested.nextSetBit(c + 1)) {
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i : listers(c)) {
+                    if (used[c] < maxPerCourse && !allocated[i].get(c) && satisfied(i) == (pass == 1)) {
+                        give(c, i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find one more contested course for requirement i, moving courses between requirements along the way.
+     */
+    private boolean augment(int i, BitSet contested) {
+        reopenSteps = Math.max(MIN_REOPEN_STEPS, REOPEN_STEPS_PER_COURSE * contested.cardinality());
+        return augment(i, contested, new BitSet());
+    }
+
+    private boolean augment(int i, BitSet contested, BitSet visited) {
+        reopenSteps--;
+        BitSet candidates = (BitSet) courses[i].clone();
+        candidates.and(contested);
+        candidates.andNot(allocated[i]);
+        candidates.andNot(visited);
+
+        // A free slot ends the path immediately
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            if (used[c] < maxPerCourse) {
+                give(c, i);
+                return true;
+            }
+        }
+
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            if (visited.get(c)) {
+                continue; // Explored by an earlier branch
+            }
+            visited.set(c);
+            for (int q : listers(c)) {
+                if (q == i || !allocated[q].get(c)) {
+                    continue;
+                }
+                State before = save();
+                BitSet visitedBefore = reopenSteps > 0 ? (BitSet) visited.clone() : null;
+                take(c, q);
+                while (!satisfied(q) && augment(q, contested, visited)) {
+                    // q looks for a replacement for c
+                }
+                if (satisfied(q)) {
+                    give(c, i);
+                    return true;
+                }
+                restore(before);
+                if (visitedBefore != null && reopenSteps > 0) {
+                    visited.clear();
+                    visited.or(visitedBefore);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean satisfied(int i) {
+        if (allCourses[i]) {
+            return allocated[i].cardinality() == courses[i].cardinality();
+        }
+        return held[i] >= demand[i];
+    }
+
+    private List<Integer> listers(int c) {
+        List<Integer> listers = new ArrayList<>();
+        for (int i = 0; i < courses.length; i++) {
+            if (courses[i].get(c)) {
+                listers.add(i);
+            }
+        }
+        return listers;
+    }
+
+    private void give(int c, int i) {
+        allocated[i].set(c);
+        held[i] += credits[c];
+        used[c]++;
+    }
+
+    private void take(int c, int i) {
+        allocated[i].clear(c);
+        held[i] -= credits[c];
+        used[c]--;
+    }
+
+    private record State(BitSet[] allocated, int[] held, int[] used) {}
+
+    private State save() {
+        BitSet[] copy = new BitSet[allocated.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = (BitSet) allocated[i].clone();
+        }
+        return new State(copy, held.clone(), used.clone());
+    }
+
+    private void restore(State state) {
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = state.allocated()[i];
+        }
+        System.arraycopy(state.held(), 0, held, 0, held.length);
+        System.arraycopy(state.used(), 0, used, 0, used.length);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import com.example.degreePlanner.entity.Major;
+import com.example.degreePlanner.exception.ResourceNotFoundException;
+import com.example.degreePlanner.repository.CourseRepository;
+import com.example.degreePlanner.repository.MajorRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Longest prerequisite chain among the courses a major needs, which bounds how many semesters it takes
+ * no matter how many courses are taken per semester.
+ *
+ * A course's chain is the course itself after the longest chain of its prerequisites, taking the shortest branch
+ * at OR groups. Course-list requirements need every listed course; credit requirements are assumed to be met with
+ * the courses that have the shortest chains. Per-major results are cached and dropped whenever the major's
+ * requirements or any prerequisite tree change.
+ */
+@Service
+@Transactional
+public class CriticalPathService {
+
+    private final MajorRepository majorRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentService enrollmentService;
+    private final RequirementIndexCache requirementIndexCache;
+    private final PrerequisiteCircuitCache prerequisiteCircuitCache;
+    private final CourseIndex courseIndex;
+
+    // Chain course ids per major id, for students who have done nothing yet
+    private final ConcurrentMap<Long, List<Long>> chains = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction, under the chains lock; a chain is only stored if none happened while computing it
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CriticalPathService(MajorRepository majorRepository,
+                               CourseRepository courseRepository,
+                               EnrollmentService enrollmentService,
+                               RequirementIndexCache requirementIndexCache,
+                               PrerequisiteCircuitCache prerequisiteCircuitCache,
+                               CourseIndex courseIndex) {
+        this.majorRepository = majorRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentService = enrollmentService;
+        this.requirementIndexCache = requirementIndexCache;
+        this.prerequisiteCircuitCache = prerequisiteCircuitCache;
+        this.courseIndex = courseIndex;
+
+        requirementIndexCache.addEvictionListener(majorId -> {
+            synchronized (chains) {
+                evictions.incrementAndGet();
+                if (majorId != null) {
+                    chains.remove(majorId);
+                } else {
+                    chains.clear();
+                }
+            }
+        });
+        // Any course's tree can be part of any major's chain
+        prerequisiteCircuitCache.addEvictionListener(courseId -> {
+            synchronized (chains) {
+                evictions.incrementAndGet();
+                chains.clear();
+            }
+        });
+    }
+
+    /**
+     * Result record for a critical path: the chain in the order it has to be taken.
+     * minimumSemesters is the chain's length.
+     */
+    public record CriticalPath(Major major, List<Course> chain, int minimumSemesters) {}
+
+    /**
+     * Critical path for the whole major, for a student who has taken nothing yet.
+     */
+    public CriticalPath getCriticalPath(String majorCode, String majorDesignation) {
+        Major major = majorRepository.findByCodeAndDesignation(majorCode, majorDesignation)
+                .orElseThrow(() -> new ResourceNotFoundException("Major not found: " + majorCode + "_" + majorDesignation));
+
+        List<Long> chain = chains.get(major.getId());
+        if (chain == null) {
+            long seen = evictions.get();
+            chain = criticalChain(requirementIndexCache.get(major.getId()), new BitSet());
+            cache(major.getId(), chain, seen);
+        }
+        return toCriticalPath(major, chain);
+    }
+
+    /**
+     * Critical path for what a student still has to take. Completed and in-progress courses are treated as done.
+     */
+    public CriticalPath getCriticalPath(Long studentId, String majorCode, String majorDesignation) {
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
+        Major major = majorRepository.findByCodeAndDesignation(majorCode, majorDesignation)
+                .orElseThrow(() -> new ResourceNotFoundException("Major not found: " + majorCode + "_" + majorDesignation));
+
+        BitSet done = (BitSet) courseSets.completed().clone();
+        done.or(courseSets.inProgress());
+        return toCriticalPath(major, criticalChain(requirementIndexCache.get(major.getId()), done));
+    }
+
+    private List<Long> criticalChain(RequirementIndex index, BitSet done) {
+        Map<Long, List<Long>> memo = new HashMap<>();
+        Set<Long> visiting = new HashSet<>();
+
+        List<Long> longest = List.of();
+        for (int i = 0; i < index.size(); i++) {
+            for (List<Long> chain : requiredChains(index, i, done, memo, visiting)) {
+                if (chain.size() > longest.size()) {
+                    longest = chain;
+                }
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Chains of the courses the i-th requirement still needs: every missing course for course-list requirements,
+     * or the shortest-chain courses that cover the missing credits.
+     */
+    private List<List<Long>> requiredChains(RequirementIndex index, int i, BitSet done,
+                                            Map<Long, List<Long>> memo, Set<Long> visiting) {
+        BitSet listed = index.getCourses(i);
+        int needed = index.getMinCredits(i) != null ? index.getMinCredits(i) : Integer.MAX_VALUE;
+
+        List<Integer> missing = new ArrayList<>();
+        for (int bit = listed.nextSetBit(0); bit >= 0; bit = listed.nextSetBit(bit + 1)) {
+            if (done.get(bit)) {
+                needed -= index.getCredits(bit);
+            } else {
+                missing.add(bit);
+            }
+        }
+
+        List<List<Long>> result = new ArrayList<>();
+        if (index.getMinCredits(i) == null) {
+            for (int bit : missing) {
+                result.add(chain(courseIndex.getCourseId(bit), done, memo, visiting));
+            }
+            return result;
+        }
+
+        List<List<Long>> options = new ArrayList<>();
+        for (int bit : missing) {
+            options.add(chain(courseIndex.getCourseId(bit), done, memo, visiting));
+        }
+        options.sort(Comparator.comparingInt(List::size));
+        for (List<Long> option : options) {
+            if (needed <= 0) {
+                break;
+            }
+            result.add(option);
+            needed -= index.getCredits(courseIndex.indexOf(option.get(option.size() - 1)));
+        }
+        return result;
+    }
+
+    /**
+     * The course's own chain: its longest prerequisite chain followed by the course. Empty if the course is done.
+     */
+    private List<Long> chain(Long courseId, BitSet done, Map<Long, List<Long>> memo, Set<Long> visiting) {
+        if (done.get(courseIndex.indexOf(courseId))) {
+            return List.of();
+        }
+        List<Long> known = memo.get(courseId);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(courseId)) {
+            return List.of(courseId); // Cycle - rejected on write, but never recurse forever
+        }
+
+        List<Long> chain = prerequisiteCircuitCache.get(courseId)
+                .criticalChain(required -> chain(required, done, memo, visiting));
+        chain.add(courseId);
+
+        visiting.remove(courseId);
+        List<Long> result = List.copyOf(chain);
+        memo.put(courseId, result);
+        return result;
+    }
+
+    private CriticalPath toCriticalPath(Major major, List<Long> chain) {
+        Map<Long, Course> courses = new HashMap<>();
+        for (Course course : courseRepository.findAllById(chain)) {
+            courses.put(course.getId(), course);
+        }
+        List<Course> ordered = chain.stream().map(courses::get).toList();
+        return new CriticalPath(major, ordered, ordered.size());
+    }
+
+    /**
+     * Store a major's chain computed from reads that started when the eviction count was seen. Inside a transaction
+     * it is stored only once the transaction commits, so other readers never see a chain built from uncommitted
+     * writes. If anything was evicted in between, the chain may predate a write and is not stored.
+     */
+    private void cache(Long majorId, List<Long> chain, long seen) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putIfCurrent(majorId, chain, seen);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putIfCurrent(majorId, chain, seen);
+            }
+        });
+    }
+
+    private void putIfCurrent(Long majorId, List<Long> chain, long seen) {
+        synchronized (chains) {
+            if (evictions.get() == seen) {
+                chains.put(majorId, chain);
+            }
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.example.degreePlanner.service;
 import com.example.degreePlanner.entity.*;
 import com.example.degreePlanner.exception.ResourceNotFoundException;
 import com.example.degreePlanner.repository.CourseRepository;
-import com.example.degreePlanner.repository.PrerequisiteRepository;
 import com.example.degreePlanner.repository.StudentRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -19,19 +24,45 @@ public class EligibilityService {
 
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
-    private final PrerequisiteRepository prerequisiteRepository;
+    private final PrerequisiteCircuitCache prerequisiteCircuitCache;
+    private final CourseIndex courseIndex;
     private final EnrollmentService enrollmentService;
+    private final EligibleCourseCache eligibleCourseCache;
+    private final TermOfferingIndex termOfferingIndex;
 
     public EligibilityService(StudentRepository studentRepository,
                               CourseRepository courseRepository,
-                              PrerequisiteRepository prerequisiteRepository,
-                              EnrollmentService enrollmentService) {
+                              PrerequisiteCircuitCache prerequisiteCircuitCache,
+                              CourseIndex courseIndex,
+                              EnrollmentService enrollmentService,
+                              EligibleCourseCache eligibleCourseCache,
+                              TermOfferingIndex termOfferingIndex) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
-        this.prerequisiteRepository = prerequisiteRepository;
+        this.prerequisiteCircuitCache = prerequisiteCircuitCache;
+        this.courseIndex = courseIndex;
         this.enrollmentService = enrollmentService;
+        this.eligibleCourseCache = eligibleCourseCache;
+        this.termOfferingIndex = termOfferingIndex;
     }
 
+    /**
+     * Eligibility verdict for one course, with the prerequisite courses still missing.
+     */
+    public record EligibilityResult(Course course, boolean eligible, List<Course> missing) {}
+
+    /**
+     * How missing prerequisites are reported.
+     * ALL lists every option of an unsatisfied OR group; the MIN_ modes list only the cheapest set of
+     * courses that would make the student eligible, by total credits or by number of courses.
+     */
+    public enum MissingMode { ALL, MIN_CREDITS, MIN_COURSES }
+
+    /**
+     * One row of the batch eligibility matrix.
+     */
+    public record StudentEligibility(Long studentId, List<EligibilityResult> courses) {}
+
     /**
      * Check if a student is eligible to take a course (has completed all prerequisites)
      */
@@ -43,166 +74,305 @@ public class EligibilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
 
         // Get completed courses for this student
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-
-        // Get prerequisite for this course
-        Optional<Prerequisite> prereqOpt = prerequisiteRepository.findByCourseId(courseId);
+        BitSet completed = enrollmentService.getCourseSets(studentId).completed();
 
-        // No prerequisites = eligible
-        if (prereqOpt.isEmpty()) {
-            return true;
-        }
-
-        return checkPrerequisite(completedCourses, prereqOpt.get());
+        // No prerequisites = eligible (the circuit handles that case)
+        return prerequisiteCircuitCache.get(courseId).isSatisfiedBy(completed);
     }
 
     /**
      * Get list of missing prerequisite courses for a student
      */
     public List<Course> getMissingPrerequisites(Long studentId, Long courseId) {
+        return checkEligibility(studentId, courseId).missing();
+    }
+
+    /**
+     * Verdict and missing prerequisites together, from a single walk of the prerequisite tree.
+     */
+    public EligibilityResult checkEligibility(Long studentId, Long courseId) {
+        return checkEligibility(studentId, courseId, MissingMode.ALL);
+    }
+
+    /**
+     * Verdict plus missing prerequisites, reported according to the given mode.
+     */
+    public EligibilityResult checkEligibility(Long studentId, Long courseId, MissingMode mode) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Course> missingCourses = new ArrayList<>();
+        PrerequisiteCircuit circuit = prerequisiteCircuitCache.get(courseId);
+        if (!circuit.hasPrerequisites()) {
+            return new EligibilityResult(course, true, new ArrayList<>()); // No prerequisites, nothing missing
+        }
 
-        Optional<Prerequisite> prereqOpt = prerequisiteRepository.findByCourseId(courseId);
+        BitSet completed = enrollmentService.getCourseSets(studentId).completed();
+        List<Long> missingIds = new ArrayList<>();
+        boolean eligible = circuit.evaluate(completed, missingIds);
+        if (eligible || mode == MissingMode.ALL) {
+            return new EligibilityResult(course, eligible, loadCoursesInOrder(missingIds));
+        }
 
-        if (prereqOpt.isEmpty()) {
-            return missingCourses; // No prerequisites, nothing missing
+        // Cost every course the circuit references, not only the missing ones, so no leaf is costed by accident
+        Map<Long, Course> byId = new HashMap<>();
+        for (Course referenced : courseRepository.findAllById(circuit.getReferencedCourseIds())) {
+            byId.put(referenced.getId(), referenced);
         }
 
-        collectMissingPrerequisites(completedCourses, prereqOpt.get(), missingCourses);
-        return missingCourses;
+        List<Long> planIds = circuit.cheapestMissing(completed,
+                id -> mode == MissingMode.MIN_COURSES ? 1 : byId.get(id).getCredits());
+
+        List<Course> plan = new ArrayList<>();
+        for (Long id : planIds) {
+            Course planned = byId.get(id);
+            if (planned != null) {
+                plan.add(planned);
+            }
+        }
+        return new EligibilityResult(course, false, plan);
+    }
+
+    /**
+     * Short-circuit counters for prerequisite evaluation (nodes visited vs. skipped).
+     */
+    public PrerequisiteCircuit.EvaluationStats getEvaluationStats() {
+        return PrerequisiteCircuit.evaluationStats();
     }
 
     /**
-     * Get all courses the student is eligible to take
+     * Get all courses the student is eligible to take.
+     * Served from the student's cached eligible set when one is current; otherwise the catalog is evaluated
+     * once and the result cached for incremental maintenance (see onEnrollmentChanged). Ordered by id either way.
      */
     public List<Course> getEligibleCourses(Long studentId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Course> inProgressCourses = enrollmentService.getInProgressCourses(studentId);
+        long version = prerequisiteCircuitCache.getVersion();
+        EligibleCourseCache.Entry cached = eligibleCourseCache.get(studentId, version);
+        if (cached != null) {
+            List<Long> eligibleIds = new ArrayList<>();
+            BitSet eligible = cached.eligible();
+            for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+                eligibleIds.add(courseIndex.getCourseId(i));
+            }
+            Collections.sort(eligibleIds);
+            return loadCoursesInOrder(eligibleIds);
+        }
+
+        long seen = eligibleCourseCache.getWriteVersion(studentId); // Before the enrollments are read
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
         List<Course> allCourses = courseRepository.findAll();
 
+        // One bulk load for any uncached trees, then the whole catalog is evaluated in memory
+        Map<Long, PrerequisiteCircuit> circuits = prerequisiteCircuitCache.getAll(
+                allCourses.stream().map(Course::getId).toList());
+
         List<Course> eligibleCourses = new ArrayList<>();
+        BitSet eligible = new BitSet();
 
         for (Course course : allCourses) {
             // Skip already completed or in-progress courses
-            if (completedCourses.contains(course) || inProgressCourses.contains(course)) {
+            int index = courseIndex.indexOf(course.getId());
+            if (courseSets.hasCompleted(index) || courseSets.isInProgress(index)) {
                 continue;
             }
 
-            // Check if eligible
-            Optional<Prerequisite> prereqOpt = prerequisiteRepository.findByCourseId(course.getId());
-
-            if (prereqOpt.isEmpty()) {
-                // No prerequisites, eligible
-                eligibleCourses.add(course);
-            } else if (checkPrerequisite(completedCourses, prereqOpt.get())) {
+            if (circuits.get(course.getId()).isSatisfiedBy(courseSets.completed())) {
                 eligibleCourses.add(course);
+                eligible.set(index);
             }
         }
 
+        eligibleCourseCache.put(studentId, new EligibleCourseCache.Entry(courseSets, eligible, version), seen);
+        // Same order as the cached path
+        eligibleCourses.sort(Comparator.comparing(Course::getId));
         return eligibleCourses;
     }
 
     /**
-     * Recursive check for prerequisite satisfaction
-     * AND type: ALL items must be satisfied
-     * OR type: ANY item must be satisfied
+     * Eligible courses that are also offered in the given term, filtered against the offering index bitsets.
+     */
+    public List<Course> getEligibleCourses(Long studentId, Term term) {
+        TermOfferingIndex.Snapshot offerings = termOfferingIndex.snapshot();
+        List<Course> offered = new ArrayList<>();
+        for (Course course : getEligibleCourses(studentId)) {
+            if (offerings.isOffered(courseIndex.indexOf(course.getId()), term)) {
+                offered.add(course);
+            }
+        }
+        return offered;
+    }
+
+    /**
+     * Bring a student's cached eligible set up to date after one of their enrollments was written.
+     * Only courses whose completed/in-progress state flipped, plus the courses whose prerequisite trees
+     * mention a flipped completed course, are re-evaluated.
      */
-    private boolean checkPrerequisite(List<Course> completedCourses, Prerequisite prereq) {
-        Set<PrerequisiteItem> items = prereq.getItems();
+    public void onEnrollmentChanged(Long studentId) {
+        long version = prerequisiteCircuitCache.getVersion();
+        EligibleCourseCache.Entry cached = eligibleCourseCache.get(studentId, version);
+        long seen = eligibleCourseCache.onWrite(studentId);
+        if (cached == null) {
+            return; // Nothing to maintain - the next read evaluates the catalog
+        }
 
-        if (items == null || items.isEmpty()) {
-            return true; // No items means satisfied
+        StudentCourseSets updated = enrollmentService.getCourseSets(studentId);
+
+        BitSet completedChanged = (BitSet) cached.courseSets().completed().clone();
+        completedChanged.xor(updated.completed());
+        BitSet inProgressChanged = (BitSet) cached.courseSets().inProgress().clone();
+        inProgressChanged.xor(updated.inProgress());
+
+        Set<Long> affected = new HashSet<>();
+        for (int i = completedChanged.nextSetBit(0); i >= 0; i = completedChanged.nextSetBit(i + 1)) {
+            Long courseId = courseIndex.getCourseId(i);
+            affected.add(courseId);
+            affected.addAll(prerequisiteCircuitCache.getDependents(courseId));
+        }
+        for (int i = inProgressChanged.nextSetBit(0); i >= 0; i = inProgressChanged.nextSetBit(i + 1)) {
+            affected.add(courseIndex.getCourseId(i));
         }
 
-        if (prereq.getType() == PrerequisiteType.AND) {
-            // ALL items must be satisfied
-            for (PrerequisiteItem item : items) {
-                if (!checkItem(completedCourses, item)) {
-                    return false;
-                }
-            }
-            return true;
-        } else {
-            // OR: ANY item must be satisfied
-            for (PrerequisiteItem item : items) {
-                if (checkItem(completedCourses, item)) {
-                    return true;
-                }
-            }
-            return false;
+        BitSet eligible = (BitSet) cached.eligible().clone();
+        for (Long courseId : affected) {
+            int index = courseIndex.indexOf(courseId);
+            boolean taken = updated.hasCompleted(index) || updated.isInProgress(index);
+            eligible.set(index, !taken && prerequisiteCircuitCache.get(courseId).isSatisfiedBy(updated.completed()));
         }
+
+        eligibleCourseCache.put(studentId, new EligibleCourseCache.Entry(updated, eligible, version), seen);
     }
 
     /**
-     * Check a single prerequisite item
-     * Leaf: check if student has completed the course
-     * Group: recursively check the nested prerequisite
+     * Get courses that would become newly eligible if the student completed the given course.
+     * Only courses whose prerequisite trees mention that course are re-evaluated.
      */
-    private boolean checkItem(List<Course> completedCourses, PrerequisiteItem item) {
-        if (item.isLeaf()) {
-            // Leaf node: check if course is completed
-            return completedCourses.stream()
-                    .anyMatch(c -> c.getId().equals(item.getCourse().getId()));
-        } else if (item.isGroup()) {
-            // Nested group: recurse
-            return checkPrerequisite(completedCourses, item.getNestedPrerequisite());
-        }
-        // Neither leaf nor group (shouldn't happen)
-        return true;
+    public List<Course> getNewlyEligibleCourses(Long studentId, Long courseId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
+
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
+
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
+        BitSet withCourse = (BitSet) courseSets.completed().clone();
+        withCourse.set(courseIndex.indexOf(courseId));
+
+        List<Long> unlockedIds = new ArrayList<>();
+        for (Long dependentId : prerequisiteCircuitCache.getDependents(courseId)) {
+            int index = courseIndex.indexOf(dependentId);
+            if (courseSets.hasCompleted(index) || courseSets.isInProgress(index)) {
+                continue;
+            }
+
+            PrerequisiteCircuit circuit = prerequisiteCircuitCache.get(dependentId);
+            if (!circuit.isSatisfiedBy(courseSets.completed()) && circuit.isSatisfiedBy(withCourse)) {
+                unlockedIds.add(dependentId);
+            }
+        }
+
+        return loadCoursesInOrder(unlockedIds);
     }
 
     /**
-     * Recursively collect all missing prerequisite courses
+     * Check every student against every course.
+     * Students, courses, prerequisite trees and completed courses are each loaded once up front;
+     * the evaluation itself is pure in-memory work and runs in parallel, one student per task.
      */
-    private void collectMissingPrerequisites(List<Course> completedCourses, Prerequisite prereq, List<Course> missing) {
-        Set<PrerequisiteItem> items = prereq.getItems();
+    public List<StudentEligibility> checkEligibilityBatch(List<Long> studentIds, List<Long> courseIds) {
+        List<Long> distinctStudentIds = studentIds.stream().distinct().toList();
+        List<Long> distinctCourseIds = courseIds.stream().distinct().toList();
 
-        if (items == null || items.isEmpty()) {
-            return;
+        Set<Long> foundStudentIds = new HashSet<>();
+        for (Student student : studentRepository.findAllById(distinctStudentIds)) {
+            foundStudentIds.add(student.getId());
+        }
+        for (Long studentId : distinctStudentIds) {
+            if (!foundStudentIds.contains(studentId)) {
+                throw new ResourceNotFoundException("Student not found with id " + studentId);
+            }
         }
 
-        if (prereq.getType() == PrerequisiteType.AND) {
-            // For AND: collect ALL missing items
-            for (PrerequisiteItem item : items) {
-                collectMissingFromItem(completedCourses, item, missing);
+        Map<Long, Course> coursesById = new HashMap<>();
+        for (Course course : courseRepository.findAllById(distinctCourseIds)) {
+            coursesById.put(course.getId(), course);
+        }
+        for (Long courseId : distinctCourseIds) {
+            if (!coursesById.containsKey(courseId)) {
+                throw new ResourceNotFoundException("Course not found with id " + courseId);
             }
-        } else {
-            // For OR: only collect if NONE are satisfied
-            boolean anySatisfied = items.stream()
-                    .anyMatch(item -> checkItem(completedCourses, item));
-
-            if (!anySatisfied) {
-                // None satisfied, collect all as options
-                for (PrerequisiteItem item : items) {
-                    collectMissingFromItem(completedCourses, item, missing);
-                }
+        }
+
+        Map<Long, PrerequisiteCircuit> circuits = prerequisiteCircuitCache.getAll(distinctCourseIds);
+        Map<Long, BitSet> completedByStudent = enrollmentService.getCompletedCourseSets(distinctStudentIds);
+
+        // Parallel part touches only circuits and bitsets, never JPA entities
+        List<List<Verdict>> verdicts = distinctStudentIds.parallelStream()
+                .map(studentId -> {
+                    BitSet completed = completedByStudent.get(studentId);
+                    List<Verdict> row = new ArrayList<>(distinctCourseIds.size());
+                    for (Long courseId : distinctCourseIds) {
+                        PrerequisiteCircuit circuit = circuits.get(courseId);
+                        List<Long> missingIds = new ArrayList<>();
+                        boolean eligible = circuit.evaluate(completed, missingIds);
+                        row.add(new Verdict(eligible, missingIds));
+                    }
+                    return row;
+                })
+                .toList();
+
+        // Every course that can appear as missing, loaded in one query
+        Set<Long> referencedIds = new HashSet<>();
+        for (PrerequisiteCircuit circuit : circuits.values()) {
+            referencedIds.addAll(circuit.getReferencedCourseIds());
+        }
+        Map<Long, Course> referencedById = new HashMap<>();
+        for (Course course : courseRepository.findAllById(referencedIds)) {
+            referencedById.put(course.getId(), course);
+        }
+
+        List<StudentEligibility> matrix = new ArrayList<>();
+        for (int s = 0; s < distinctStudentIds.size(); s++) {
+            List<EligibilityResult> results = new ArrayList<>();
+            for (int c = 0; c < distinctCourseIds.size(); c++) {
+                Verdict verdict = verdicts.get(s).get(c);
+                List<Course> missing = verdict.missingIds().stream()
+                        .map(referencedById::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+                results.add(new EligibilityResult(coursesById.get(distinctCourseIds.get(c)), verdict.eligible(), missing));
             }
+            matrix.add(new StudentEligibility(distinctStudentIds.get(s), results));
         }
+        return matrix;
     }
 
     /**
-     * Collect missing courses from a single item
+     * Load courses by id in a single query, keeping the order of the given ids
      */
-    private void collectMissingFromItem(List<Course> completedCourses, PrerequisiteItem item, List<Course> missing) {
-        if (item.isLeaf()) {
-            Course course = item.getCourse();
-            boolean completed = completedCourses.stream()
-                    .anyMatch(c -> c.getId().equals(course.getId()));
-            if (!completed && !missing.contains(course)) {
-                missing.add(course);
+    private List<Course> loadCoursesInOrder(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Course> byId = new HashMap<>();
+        for (Course course : courseRepository.findAllById(courseIds)) {
+            byId.put(course.getId(), course);
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (Long id : courseIds) {
+            Course course = byId.get(id);
+            if (course != null) {
+                courses.add(course);
             }
-        } else if (item.isGroup()) {
-            collectMissingPrerequisites(completedCourses, item.getNestedPrerequisite(), missing);
         }
+        return courses;
     }
+
+    private record Verdict(boolean eligible, List<Long> missingIds) {}
 }
@@ -0,0 +1,175 @@
+package com.example.degreePlanner.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-student eligible-course sets, maintained incrementally by EligibilityService as enrollments change.
+ * Entries are tagged with the PrerequisiteCircuitCache version they were computed against and
+ * are ignored once any prerequisite or catalog write has happened since.
+ *
+ * Each student also has a write version, bumped when one of their enrollments is written and again when that
+ * transaction completes. An entry is shared only if the student's write version has not moved since the enrollments
+ * it was computed from were read, so a reader that read them before a write committed cannot replace the writer's
+ * entry. Inside a transaction entries are kept for that transaction and shared once it commits.
+ */
+@Component
+public class EligibleCourseCache {
+
+    /**
+     * Cached state for one student. Bitsets are never mutated after the entry is stored.
+     */
+    public record Entry(StudentCourseSets courseSets, BitSet eligible, long version) {}
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Guarded by itself
+    private final Map<Long, WriteState> writes = new HashMap<>();
+
+    private static final class WriteState {
+        private long version;
+        private int pending;    // Transactions that wrote the student's enrollments and have not completed
+    }
+
+    /**
+     * Entries the current transaction computed, with the write version each was read at,
+     * and the students whose enrollments it wrote.
+     */
+    private static final class PendingEntries {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<Long, Long> seen = new HashMap<>();
+        private final Set<Long> written = new HashSet<>();
+    }
+
+    /**
+     * Cached entry for a student, or null if there is none for the current circuit version. Inside a transaction
+     * that wrote the student's enrollments, only an entry that transaction computed counts.
+     */
+    public Entry get(Long studentId, long currentVersion) {
+        PendingEntries pending = pendingEntries();
+        Entry entry = pending != null && (pending.entries.containsKey(studentId) || pending.written.contains(studentId))
+                ? pending.entries.get(studentId)
+                : entries.get(studentId);
+        return entry != null && entry.version() == currentVersion ? entry : null;
+    }
+
+    /**
+     * The student's write version, to read before their enrollments and pass to put.
+     */
+    public long getWriteVersion(Long studentId) {
+        synchronized (writes) {
+            WriteState state = writes.get(studentId);
+            return state != null ? state.version : 0;
+        }
+    }
+
+    /**
+     * Record that the student's enrollments were just written, and return the write version to compute the
+     * updated entry at. Read the entry being updated before calling this. The version moves again once the surrounding transaction completes; if its entry could not
+     * be shared by then, the shared entry is dropped.
+     */
+    public long onWrite(Long studentId) {
+        long version;
+        synchronized (writes) {
+            WriteState state = writes.computeIfAbsent(studentId, id -> new WriteState());
+            version = ++state.version;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                state.pending++;
+            }
+        }
+
+        PendingEntries pending = bindPendingEntries();
+        if (pending != null) {
+            pending.written.add(studentId);
+        } else {
+            entries.remove(studentId);
+        }
+        return version;
+    }
+
+    /**
+     * Store an entry computed from enrollments read at write version seen. Shared now outside a transaction,
+     * otherwise kept for the transaction and shared once it commits.
+     */
+    public void put(Long studentId, Entry entry, long seen) {
+        PendingEntries pending = bindPendingEntries();
+        if (pending == null) {
+            publish(studentId, entry, seen, false);
+            return;
+        }
+        pending.entries.put(studentId, entry);
+        pending.seen.put(studentId, seen);
+    }
+
+    /**
+     * Share an entry unless the student was written since seen, or - for a transaction that did not write the
+     * student itself - another transaction's write to them is still uncommitted.
+     */
+    private boolean publish(Long studentId, Entry entry, long seen, boolean writer) {
+        synchronized (writes) {
+            WriteState state = writes.get(studentId);
+            long version = state != null ? state.version : 0;
+            int writing = state != null ? state.pending : 0;
+            if (version != seen || (!writer && writing > 0)) {
+                return false;
+            }
+            entries.put(studentId, entry);
+            return true;
+        }
+    }
+
+    private PendingEntries pendingEntries() {
+        return (PendingEntries) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private PendingEntries bindPendingEntries() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingEntries pending = pendingEntries();
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingEntries bound = new PendingEntries();
+        TransactionSynchronizationManager.bindResource(this, bound);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private final Set<Long> published = new HashSet<>();
+
+            @Override
+            public void afterCommit() {
+                for (Map.Entry<Long, Entry> entry : bound.entries.entrySet()) {
+                    Long studentId = entry.getKey();
+                    if (publish(studentId, entry.getValue(), bound.seen.get(studentId), bound.written.contains(studentId))) {
+                        published.add(studentId);
+                    }
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EligibleCourseCache.this);
+                synchronized (writes) {
+                    for (Long studentId : bound.written) {
+                        WriteState state = writes.get(studentId);
+                        state.version++;
+                        state.pending--;
+                        if (status == STATUS_COMMITTED && !published.contains(studentId)) {
+                            entries.remove(studentId); // May predate this write
+                        }
+                    }
+                }
+            }
+        });
+        return bound;
+    }
+}
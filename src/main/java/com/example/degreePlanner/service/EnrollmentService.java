@@ -1,6 +1,7 @@
 package com.example.degreePlanner.service;
 
 import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.exception.CourseNotOfferedException;
 import com.example.degreePlanner.exception.DuplicateResourceException;
 import com.example.degreePlanner.exception.PrerequisiteNotMetException;
 import com.example.degreePlanner.exception.ResourceNotFoundException;
@@ -11,7 +12,11 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 @Service
@@ -21,15 +26,24 @@ public class EnrollmentService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final EligibilityService eligibilityService;
+    private final CourseIndex courseIndex;
+    private final MaterializedProgressService materializedProgressService;
+    private final TermOfferingIndex termOfferingIndex;
 
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
                              StudentRepository studentRepository,
                              CourseRepository courseRepository,
-                             @Lazy EligibilityService eligibilityService) {
+                             @Lazy EligibilityService eligibilityService,
+                             CourseIndex courseIndex,
+                             @Lazy MaterializedProgressService materializedProgressService,
+                             TermOfferingIndex termOfferingIndex) {
         this.enrollmentRepository = enrollmentRepository;
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.eligibilityService = eligibilityService;
+        this.courseIndex = courseIndex;
+        this.materializedProgressService = materializedProgressService;
+        this.termOfferingIndex = termOfferingIndex;
     }
 
     public Enrollment enrollStudent(Long studentId, Long courseId, String semester) {
@@ -39,17 +53,26 @@ public class EnrollmentService {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
 
-        if (enrollmentRepository.existsByStudentAndCourseAndSemester(student, course, semester)) {
+        Term term = Term.tryParse(semester);
+        if (isEnrolled(student, course, semester, term)) {
             throw new DuplicateResourceException("Student already enrolled in this course for " + semester);
         }
 
+        // Free-text semesters that are not terms are accepted as before, without an offering check
+        if (term != null && !termOfferingIndex.isOffered(courseId, term)) {
+            throw new CourseNotOfferedException(course.getCode() + " " + course.getCourseNum() + " is not offered in " + term);
+        }
+
         // Check if student is eligible (has completed prerequisites)
         if (!eligibilityService.isEligibleForCourse(studentId, courseId)) {
             throw new PrerequisiteNotMetException("Student has not completed prerequisites for " + course.getCode() + " " + course.getCourseNum());
         }
 
         Enrollment enrollment = new Enrollment(student, course, semester, EnrollmentStatus.IN_PROGRESS);
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        eligibilityService.onEnrollmentChanged(studentId);
+        materializedProgressService.onEnrollmentChanged(studentId, courseId);
+        return saved;
     }
 
     public Enrollment getEnrollmentById(Long enrollmentId) {
@@ -68,6 +91,11 @@ public class EnrollmentService {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
 
+        // Terms match by index, so "fall 2024" finds enrollments recorded as "Fall 2024"
+        Term term = Term.tryParse(semester);
+        if (term != null) {
+            return enrollmentRepository.findByStudentAndTermIndex(student, term.index());
+        }
         return enrollmentRepository.findByStudentAndSemester(student, semester);
     }
 
@@ -84,7 +112,10 @@ public class EnrollmentService {
 
         enrollment.setGrade(grade);
         enrollment.setEnrollmentStatus(status);
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        eligibilityService.onEnrollmentChanged(enrollment.getStudent().getId());
+        materializedProgressService.onEnrollmentChanged(enrollment.getStudent().getId(), enrollment.getCourse().getId());
+        return saved;
     }
 
     public void removeEnrollment(Long enrollmentId) {
@@ -92,6 +123,8 @@ public class EnrollmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found with id " + enrollmentId));
 
         enrollmentRepository.delete(enrollment);
+        eligibilityService.onEnrollmentChanged(enrollment.getStudent().getId());
+        materializedProgressService.onEnrollmentChanged(enrollment.getStudent().getId(), enrollment.getCourse().getId());
     }
 
     public List<Course> getCompletedCourses(Long studentId) {
@@ -114,6 +147,41 @@ public class EnrollmentService {
                 .toList();
     }
 
+    /**
+     * Completed and in-progress courses as bitsets, loaded with a single enrollment query.
+     */
+    public StudentCourseSets getCourseSets(Long studentId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
+
+        BitSet completed = new BitSet();
+        BitSet inProgress = new BitSet();
+        for (Enrollment enrollment : enrollmentRepository.findByStudent(student)) {
+            if (enrollment.getEnrollmentStatus() == EnrollmentStatus.COMPLETED) {
+                completed.set(courseIndex.indexOf(enrollment.getCourse().getId()));
+            } else if (enrollment.getEnrollmentStatus() == EnrollmentStatus.IN_PROGRESS) {
+                inProgress.set(courseIndex.indexOf(enrollment.getCourse().getId()));
+            }
+        }
+        return new StudentCourseSets(completed, inProgress);
+    }
+
+    /**
+     * Completed-course bitsets for many students, loaded with a single query.
+     * Students without completed courses map to an empty bitset.
+     */
+    public Map<Long, BitSet> getCompletedCourseSets(Collection<Long> studentIds) {
+        Map<Long, BitSet> completedByStudent = new HashMap<>();
+        for (Long studentId : studentIds) {
+            completedByStudent.put(studentId, new BitSet());
+        }
+
+        for (Object[] pair : enrollmentRepository.findStudentCourseIdPairs(studentIds, EnrollmentStatus.COMPLETED)) {
+            completedByStudent.get((Long) pair[0]).set(courseIndex.indexOf((Long) pair[1]));
+        }
+        return completedByStudent;
+    }
+
     public boolean isEnrolled(Long studentId, Long courseId, String semester) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
@@ -121,6 +189,16 @@ public class EnrollmentService {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
 
+        return isEnrolled(student, course, semester, Term.tryParse(semester));
+    }
+
+    /**
+     * Terms match by index, as in getEnrollmentsBySemester; free-text semesters match exactly.
+     */
+    private boolean isEnrolled(Student student, Course course, String semester, Term term) {
+        if (term != null) {
+            return enrollmentRepository.existsByStudentAndCourseAndTermIndex(student, course, term.index());
+        }
         return enrollmentRepository.existsByStudentAndCourseAndSemester(student, course, semester);
     }
 }
@@ -8,14 +8,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional
 public class MajorService {
     private final MajorRepository majorRepository;
+    private final RequirementIndexCache requirementIndexCache;
+    private final MaterializedProgressService materializedProgressService;
 
-    public MajorService(MajorRepository majorRepository) {
+    public MajorService(MajorRepository majorRepository,
+                        RequirementIndexCache requirementIndexCache,
+                        MaterializedProgressService materializedProgressService) {
         this.majorRepository = majorRepository;
+        this.requirementIndexCache = requirementIndexCache;
+        this.materializedProgressService = materializedProgressService;
     }
 
     public Major createMajor(Major major){
@@ -49,6 +56,7 @@ public class MajorService {
         existing.setName(updated.getName());
         existing.setTotalCreditsRequired(updated.getTotalCreditsRequired());
         existing.setDescription(updated.getDescription());
+        updateAllocationLimit(existing, updated.getMaxRequirementsPerCourse());
         return majorRepository.save(existing);
     }
 
@@ -60,6 +68,7 @@ public class MajorService {
         existing.setDescription(updated.getDescription());
         existing.setCode(updated.getCode());
         existing.setDesignation(updated.getDesignation());
+        updateAllocationLimit(existing, updated.getMaxRequirementsPerCourse());
 
         return majorRepository.save(existing);
     }
@@ -70,6 +79,19 @@ public class MajorService {
         majorRepository.delete(major);
     }
 
+    /**
+     * Changing how many requirements a course may count toward changes every student's requirement progress,
+     * so the cached index for the major is dropped and its materialized rows refreshed.
+     */
+    private void updateAllocationLimit(Major existing, Integer maxRequirementsPerCourse) {
+        if (Objects.equals(existing.getMaxRequirementsPerCourse(), maxRequirementsPerCourse)) {
+            return;
+        }
+        existing.setMaxRequirementsPerCourse(maxRequirementsPerCourse);
+        requirementIndexCache.invalidate(existing.getId());
+        materializedProgressService.refreshMajor(existing);
+    }
+
 
 
 
@@ -0,0 +1,268 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.exception.ResourceNotFoundException;
+import com.example.degreePlanner.repository.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the student_requirement_progress / student_major_progress materialization.
+ *
+ * Rows are only written by the writes that change progress, never by reads: declaring a major materializes it,
+ * and writes that can change progress refresh only the (student, major) pairs they touch. Changes that affect
+ * everyone with a major (requirements edited, course credits changed) refresh the whole cohort in batches, one
+ * query per table for each batch of students.
+ */
+@Service
+@Transactional
+public class MaterializedProgressService {
+
+    // Students refreshed per round of queries when a whole cohort is refreshed
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final StudentRepository studentRepository;
+    private final StudentMajorRepository studentMajorRepository;
+    private final MajorRepository majorRepository;
+    private final RequirementRepository requirementRepository;
+    private final StudentRequirementProgressRepository requirementProgressRepository;
+    private final StudentMajorProgressRepository majorProgressRepository;
+    private final EnrollmentService enrollmentService;
+    private final RequirementIndexCache requirementIndexCache;
+
+    public MaterializedProgressService(StudentRepository studentRepository,
+                                       StudentMajorRepository studentMajorRepository,
+                                       MajorRepository majorRepository,
+                                       RequirementRepository requirementRepository,
+                                       StudentRequirementProgressRepository requirementProgressRepository,
+                                       StudentMajorProgressRepository majorProgressRepository,
+                                       EnrollmentService enrollmentService,
+                                       RequirementIndexCache requirementIndexCache) {
+        this.studentRepository = studentRepository;
+        this.studentMajorRepository = studentMajorRepository;
+        this.majorRepository = majorRepository;
+        this.requirementRepository = requirementRepository;
+        this.requirementProgressRepository = requirementProgressRepository;
+        this.majorProgressRepository = majorProgressRepository;
+        this.enrollmentService = enrollmentService;
+        this.requirementIndexCache = requirementIndexCache;
+    }
+
+    /**
+     * Materialized progress for one declared major.
+     */
+    public record MajorProgressSummary(
+            Major major,
+            int totalCreditsRequired,
+            int creditsCompleted,
+            int creditsRemaining,
+            double percentComplete,
+            List<StudentRequirementProgress> requirements
+    ) {}
+
+    /**
+     * Progress summary for every declared major, read from the materialized rows.
+     * Majors without rows (declared before progress was materialized) are computed in memory and not stored,
+     * so concurrent reads never race to insert the same rows.
+     */
+    public List<MajorProgressSummary> getProgressSummary(Long studentId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
+
+        List<Major> declaredMajors = studentMajorRepository.findByStudent(student).stream()
+                .map(StudentMajor::getMajor)
+                .toList();
+
+        Map<Long, StudentMajorProgress> majorRows = new HashMap<>();
+        for (StudentMajorProgress row : majorProgressRepository.findByStudentIdWithMajor(studentId)) {
+            majorRows.put(row.getMajor().getId(), row);
+        }
+
+        Map<Long, List<StudentRequirementProgress>> requirementRows = new HashMap<>();
+        for (StudentRequirementProgress row : requirementProgressRepository.findByStudentIdWithRequirement(studentId)) {
+            requirementRows.computeIfAbsent(row.getRequirement().getMajor().getId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<Major> missing = declaredMajors.stream().filter(m -> !majorRows.containsKey(m.getId())).toList();
+        if (!missing.isEmpty()) {
+            BitSet completed = enrollmentService.getCourseSets(studentId).completed();
+            Map<Long, RequirementIndex> indexes = requirementIndexCache.getAll(missing.stream().map(Major::getId).toList());
+            for (Major major : missing) {
+                RequirementIndex.Evaluation evaluation = indexes.get(major.getId()).evaluate(completed);
+                StudentMajorProgress majorRow = new StudentMajorProgress(student, major);
+                majorRow.setCreditsCompleted(evaluation.creditsCompleted());
+                majorRows.put(major.getId(), majorRow);
+                requirementRows.put(major.getId(), toRows(student, evaluation, new HashMap<>()));
+            }
+        }
+
+        List<MajorProgressSummary> summaries = new ArrayList<>();
+        for (Major major : declaredMajors) {
+            int creditsCompleted = majorRows.get(major.getId()).getCreditsCompleted();
+            int totalCreditsRequired = major.getTotalCreditsRequired();
+            summaries.add(new MajorProgressSummary(
+                    major,
+                    totalCreditsRequired,
+                    creditsCompleted,
+                    Math.max(0, totalCreditsRequired - creditsCompleted),
+                    totalCreditsRequired > 0 ? (double) creditsCompleted / totalCreditsRequired * 100.0 : 0.0,
+                    requirementRows.getOrDefault(major.getId(), List.of())
+            ));
+        }
+        return summaries;
+    }
+
+    /**
+     * A student declared a major: materialize it so reads find its rows.
+     */
+    public void onMajorDeclared(Student student, Major major) {
+        BitSet completed = enrollmentService.getCourseSets(student.getId()).completed();
+        materialize(student, major, requirementIndexCache.get(major.getId()), completed);
+    }
+
+    /**
+     * A student's enrollment in a course changed: refresh each materialized major of theirs that lists the course.
+     */
+    public void onEnrollmentChanged(Long studentId, Long courseId) {
+        Set<Long> affectedMajorIds = new HashSet<>(requirementRepository.findMajorIdsByCourseId(courseId));
+        if (affectedMajorIds.isEmpty()) {
+            return;
+        }
+
+        List<StudentMajorProgress> rows = majorProgressRepository.findByStudentIdWithMajor(studentId).stream()
+                .filter(row -> affectedMajorIds.contains(row.getMajor().getId()))
+                .toList();
+        if (rows.isEmpty()) {
+            return; // Nothing materialized that this course counts toward
+        }
+
+        BitSet completed = enrollmentService.getCourseSets(studentId).completed();
+        Map<Long, RequirementIndex> indexes = requirementIndexCache.getAll(
+                rows.stream().map(row -> row.getMajor().getId()).toList());
+        for (StudentMajorProgress row : rows) {
+            Major major = row.getMajor();
+            materialize(row.getStudent(), major, indexes.get(major.getId()), completed);
+        }
+    }
+
+    /**
+     * A major's requirements changed: refresh it for every student who has it declared.
+     * Call after the change is saved and the major's requirement index invalidated.
+     */
+    public void refreshMajor(Major major) {
+        List<Long> studentIds = studentMajorRepository.findStudentIdsByMajor(major);
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        RequirementIndex index = requirementIndexCache.get(major.getId());
+        for (int from = 0; from < studentIds.size(); from += REFRESH_BATCH_SIZE) {
+            refresh(major, index, studentIds.subList(from, Math.min(from + REFRESH_BATCH_SIZE, studentIds.size())));
+        }
+    }
+
+    /**
+     * Refresh every major that lists the course (e.g. after its credits change).
+     */
+    public void refreshMajorsWithCourse(Long courseId) {
+        for (Major major : majorRepository.findAllById(requirementRepository.findMajorIdsByCourseId(courseId))) {
+            refreshMajor(major);
+        }
+    }
+
+    /**
+     * Drop one student's materialized progress for a major (e.g. when the major is undeclared).
+     */
+    public void invalidate(Long studentId, Long majorId) {
+        requirementProgressRepository.deleteByStudentIdAndMajorId(studentId, majorId);
+        majorProgressRepository.deleteByStudentIdAndMajorId(studentId, majorId);
+    }
+
+    /**
+     * Recompute a major for a batch of students, loading their existing rows and completed courses
+     * with one query each and saving the changes together.
+     */
+    private void refresh(Major major, RequirementIndex index, List<Long> studentIds) {
+        Map<Long, BitSet> completedByStudent = enrollmentService.getCompletedCourseSets(studentIds);
+
+        Map<Long, Map<Long, StudentRequirementProgress>> existingByStudent = new HashMap<>();
+        for (StudentRequirementProgress row : requirementProgressRepository.findByMajorIdAndStudentIdIn(major.getId(), studentIds)) {
+            existingByStudent.computeIfAbsent(row.getStudent().getId(), id -> new HashMap<>())
+                    .put(row.getRequirement().getId(), row);
+        }
+        Map<Long, StudentMajorProgress> majorRows = new HashMap<>();
+        for (StudentMajorProgress row : majorProgressRepository.findByMajorIdAndStudentIdIn(major.getId(), studentIds)) {
+            majorRows.put(row.getStudent().getId(), row);
+        }
+
+        List<StudentRequirementProgress> rows = new ArrayList<>();
+        List<StudentRequirementProgress> stale = new ArrayList<>();
+        List<StudentMajorProgress> updatedMajorRows = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            Student student = studentRepository.getReferenceById(studentId);
+            RequirementIndex.Evaluation evaluation = index.evaluate(completedByStudent.get(studentId));
+
+            Map<Long, StudentRequirementProgress> existing = existingByStudent.getOrDefault(studentId, new HashMap<>());
+            rows.addAll(toRows(student, evaluation, existing));
+            stale.addAll(existing.values()); // Requirements that no longer exist
+
+            StudentMajorProgress majorRow = majorRows.get(studentId);
+            if (majorRow == null) {
+                majorRow = new StudentMajorProgress(student, major);
+            }
+            majorRow.setCreditsCompleted(evaluation.creditsCompleted());
+            updatedMajorRows.add(majorRow);
+        }
+        requirementProgressRepository.saveAll(rows);
+        requirementProgressRepository.deleteAll(stale);
+        majorProgressRepository.saveAll(updatedMajorRows);
+    }
+
+    /**
+     * Recompute one (student, major) pair and upsert its rows.
+     */
+    private StudentMajorProgress materialize(Student student, Major major, RequirementIndex index, BitSet completed) {
+        RequirementIndex.Evaluation evaluation = index.evaluate(completed);
+
+        Map<Long, StudentRequirementProgress> existing = new HashMap<>();
+        for (StudentRequirementProgress row : requirementProgressRepository.findByStudentIdAndMajorId(student.getId(), major.getId())) {
+            existing.put(row.getRequirement().getId(), row);
+        }
+
+        requirementProgressRepository.saveAll(toRows(student, evaluation, existing));
+        requirementProgressRepository.deleteAll(existing.values()); // Requirements that no longer exist
+
+        StudentMajorProgress majorRow = majorProgressRepository.findByStudentIdAndMajorId(student.getId(), major.getId())
+                .orElseGet(() -> new StudentMajorProgress(student, major));
+        majorRow.setCreditsCompleted(evaluation.creditsCompleted());
+        return majorProgressRepository.save(majorRow);
+    }
+
+    /**
+     * Requirement rows holding an evaluation: existing rows (by requirement id) are updated and taken out of
+     * existing, the rest are new and unsaved.
+     */
+    private List<StudentRequirementProgress> toRows(Student student, RequirementIndex.Evaluation evaluation,
+                                                    Map<Long, StudentRequirementProgress> existing) {
+        List<StudentRequirementProgress> rows = new ArrayList<>();
+        for (RequirementIndex.RequirementOutcome outcome : evaluation.requirements()) {
+            StudentRequirementProgress row = existing.remove(outcome.requirementId());
+            if (row == null) {
+                row = new StudentRequirementProgress(student, requirementRepository.getReferenceById(outcome.requirementId()));
+            }
+            row.setStatus(outcome.status());
+            row.setCreditsCompleted(outcome.creditsCompleted());
+            row.setCreditsRemaining(outcome.creditsRemaining());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Term;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Branch-and-bound search for the plan with the fewest semesters, then the fewest total credits.
+ *
+ * A search node is the set of courses chosen so far. Each node branches on its first open obligation:
+ * a credit requirement that still lacks credits (one branch per listed course), or a chosen course whose
+ * prerequisite circuit is not yet satisfied (one branch per referenced course, the cheapest completion first),
+ * which is where OR groups fan out. A node with no open obligation is scheduled by PlanScheduler.
+ *
+ * Nodes are pruned when their lower bound - the longest prerequisite chain among the chosen courses, or the credits
+ * chosen divided by the cap - cannot beat the best plan found so far. The first levels of the tree are forked on the
+ * pool; deeper levels run depth-first in the forking thread. Every node checks the deadline, so the search returns
+ * the best plan found so far once the time budget runs out. Nodes reached along several branches are searched once,
+ * as long as the set of nodes seen stays under MAX_VISITED.
+ */
+final class PlanOptimizer {
+
+    // Levels of the search tree whose children are forked; below this they run sequentially
+    private static final int PARALLEL_DEPTH = 6;
+
+    // Most nodes remembered for deduplication; past this, repeated nodes are searched again rather than stored
+    private static final int MAX_VISITED = 100_000;
+
+    /**
+     * A credit requirement that still needs neededCredits from the candidate courses.
+     */
+    record Goal(List<Long> candidates, int neededCredits) {}
+
+    /**
+     * Course ids per semester of the best plan, and whether the whole search space was explored within the budget.
+     */
+    record Result(List<List<Long>> semesters, int totalCredits, boolean exhaustive) {}
+
+    private record Best(int semesters, int credits, List<List<Long>> schedule) {}
+
+    private final List<Goal> goals;
+    private final boolean shareCourses;
+    private final BitSet mandatory;
+    private final BitSet done;
+    private final Map<Long, PrerequisiteCircuit> circuits;
+    private final Map<Long, Integer> credits;
+    private final CourseIndex courseIndex;
+    private final int maxCredits;
+    private final Term start;
+    private final TermOfferingIndex.Snapshot offerings;
+    private final long deadline;
+
+    private final Set<List<BitSet>> visited = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Best> best = new AtomicReference<>();
+    private volatile boolean timedOut = false;
+
+    private PlanOptimizer(List<Goal> goals, boolean shareCourses, BitSet mandatory, BitSet done,
+                          Map<Long, PrerequisiteCircuit> circuits, Map<Long, Integer> credits,
+                          CourseIndex courseIndex, int maxCredits, Term start, TermOfferingIndex.Snapshot offerings,
+                          long deadline) {
+        this.goals = goals;
+        this.shareCourses = shareCourses;
+        this.mandatory = mandatory;
+        this.done = done;
+        this.circuits = circuits;
+        this.credits = credits;
+        this.courseIndex = courseIndex;
+        this.maxCredits = maxCredits;
+        this.start = start;
+        this.offerings = offerings;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Search for a better plan than the incumbent.
+     *
+     * @param mandatory courses every plan takes (course-list requirements, and requirements that cannot be met)
+     * @param shareCourses whether one course may count toward several credit requirements
+     * @param incumbent a valid plan to start from, e.g. the greedy one; it is returned if nothing better is found
+     * @param circuits compiled circuits of every course the search can reach (the goals' candidates, the incumbent,
+     *                 and all their transitive prerequisites); credits must cover the same courses
+     * @param start first term for offering-aware scheduling, or null (see PlanScheduler)
+     * @throws IllegalStateException if the incumbent cannot be scheduled
+     */
+    static Result optimize(ForkJoinPool pool, Collection<Long> mandatory, List<Goal> goals, boolean shareCourses,
+                           Collection<Long> incumbent, BitSet done, Map<Long, PrerequisiteCircuit> circuits,
+                           Map<Long, Integer> credits, CourseIndex courseIndex, int maxCredits,
+                           Term start, TermOfferingIndex.Snapshot offerings, long timeBudgetMillis) {
+        BitSet mandatoryBits = new BitSet();
+        for (Long id : mandatory) {
+            mandatoryBits.set(courseIndex.indexOf(id));
+        }
+
+        PlanOptimizer optimizer = new PlanOptimizer(goals, shareCourses, mandatoryBits, done, circuits, credits,
+                courseIndex, maxCredits, start, offerings, System.nanoTime() + timeBudgetMillis * 1_000_000L);
+        optimizer.offer(PlanScheduler.schedule(incumbent, circuits, credits::get, done, courseIndex, maxCredits,
+                start, offerings));
+
+        BitSet[] assigned = new BitSet[shareCourses ? 0 : goals.size()];
+        for (int i = 0; i < assigned.length; i++) {
+            assigned[i] = new BitSet();
+        }
+        pool.invoke(optimizer.new Node(mandatoryBits, assigned, 0));
+
+        Best found = optimizer.best.get();
+        return new Result(found.schedule(), found.credits(), !optimizer.timedOut);
+    }
+
+    private final class Node extends RecursiveAction {
+        private final BitSet planned;
+        private final BitSet[] assigned; // Courses counted toward each goal; empty when courses are shared
+        private final int depth;
+
+        Node(BitSet planned, BitSet[] assigned, int depth) {
+            this.planned = planned;
+            this.assigned = assigned;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                return;
+            }
+            if (!firstVisit() || !canImprove()) {
+                return;
+            }
+
+            List<Node> children = branchOnGoal();
+            if (children == null) {
+                children = branchOnPrerequisite();
+            }
+            if (children == null) {
+                evaluate();
+            } else if (depth < PARALLEL_DEPTH) {
+                invokeAll(children);
+            } else {
+                for (Node child : children) {
+                    child.compute();
+                }
+            }
+        }
+
+        /**
+         * Whether no other branch reached this node before. Once MAX_VISITED nodes are remembered every node
+         * counts as new, which costs repeated work but not correctness, and bounds the memory a long budget can use.
+         */
+        private boolean firstVisit() {
+            if (visited.size() >= MAX_VISITED) {
+                return true;
+            }
+            List<BitSet> key = new ArrayList<>(assigned.length + 1);
+            key.add(planned);
+            key.addAll(List.of(assigned));
+            return visited.add(key);
+        }
+
+        /**
+         * Lower bound on semesters and credits of any plan that extends this node, compared with the best plan.
+         * Credits are capped per course since a course above the cap gets a semester of its own.
+         */
+        private boolean canImprove() {
+            List<Long> ids = plannedIds();
+            int total = 0;
+            int capped = 0;
+            for (Long id : ids) {
+                total += credits.get(id);
+                capped += Math.min(credits.get(id), maxCredits);
+            }
+            int chain = 0;
+            for (int length : PlanScheduler.chainDepths(ids, circuits).values()) {
+                chain = Math.max(chain, length);
+            }
+            int semesters = Math.max(chain, (capped + maxCredits - 1) / maxCredits);
+            return better(semesters, total, best.get());
+        }
+
+        /**
+         * Children for the first credit requirement that is still short, or null if every requirement is covered.
+         */
+        private List<Node> branchOnGoal() {
+            BitSet available = available();
+            BitSet owned = shareCourses ? null : owned();
+
+            for (int i = 0; i < goals.size(); i++) {
+                Goal goal = goals.get(i);
+                BitSet counted = shareCourses ? planned : assigned[i];
+                int needed = goal.neededCredits();
+                for (Long id : goal.candidates()) {
+                    if (counted.get(courseIndex.indexOf(id))) {
+                        needed -= credits.get(id);
+                    }
+                }
+                if (needed <= 0) {
+                    continue;
+                }
+
+                List<Long> options = new ArrayList<>();
+                for (Long id : goal.candidates()) {
+                    int bit = courseIndex.indexOf(id);
+                    if (!done.get(bit) && !(shareCourses ? planned.get(bit) : owned.get(bit))) {
+                        options.add(id);
+                    }
+                }
+                // Courses already in the plan are free, then fewer missing prerequisites, then larger courses
+                options.sort(Comparator
+                        .comparing((Long id) -> !planned.get(courseIndex.indexOf(id)))
+                        .thenComparing(id -> circuits.get(id).cheapestMissing(available, c -> 1).size())
+                        .thenComparing(Comparator.comparing((Long id) -> credits.get(id)).reversed())
+                        .thenComparing(id -> id));
+
+                List<Node> children = new ArrayList<>();
+                for (Long id : options) {
+                    BitSet[] nextAssigned = assigned.clone();
+                    if (!shareCourses) {
+                        nextAssigned[i] = (BitSet) assigned[i].clone();
+                        nextAssigned[i].set(courseIndex.indexOf(id));
+                    }
+                    children.add(new Node(with(id), nextAssigned, depth + 1));
+                }
+                return children; // No options: this branch cannot cover the requirement
+            }
+            return null;
+        }
+
+        /**
+         * Children for the first chosen course whose prerequisites are not covered by the plan, or null if none.
+         * The courses of the cheapest completion come first, then every other course the circuit references.
+         */
+        private List<Node> branchOnPrerequisite() {
+            BitSet available = available();
+            for (Long id : plannedIds()) {
+                PrerequisiteCircuit circuit = circuits.get(id);
+                if (circuit.isSatisfiedBy(available)) {
+                    continue;
+                }
+
+                List<Long> options = new ArrayList<>(circuit.cheapestMissing(available, c -> 1));
+                List<Long> others = new ArrayList<>();
+                for (Long required : circuit.getReferencedCourseIds()) {
+                    if (!available.get(courseIndex.indexOf(required)) && !options.contains(required)) {
+                        others.add(required);
+                    }
+                }
+                others.sort(Comparator.naturalOrder());
+                options.addAll(others);
+
+                List<Node> children = new ArrayList<>();
+                for (Long required : options) {
+                    children.add(new Node(with(required), assigned, depth + 1));
+                }
+                return children;
+            }
+            return null;
+        }
+
+        private void evaluate() {
+            try {
+                offer(PlanScheduler.schedule(plannedIds(), circuits, credits::get, done, courseIndex, maxCredits,
+                        start, offerings));
+            } catch (IllegalStateException e) {
+                // The chosen courses can never all be taken; not a plan
+            }
+        }
+
+        private BitSet with(Long courseId) {
+            BitSet next = (BitSet) planned.clone();
+            next.set(courseIndex.indexOf(courseId));
+            return next;
+        }
+
+        private BitSet available() {
+            BitSet available = (BitSet) done.clone();
+            available.or(planned);
+            return available;
+        }
+
+        private BitSet owned() {
+            BitSet owned = (BitSet) mandatory.clone();
+            for (BitSet courses : assigned) {
+                owned.or(courses);
+            }
+            return owned;
+        }
+
+        private List<Long> plannedIds() {
+            List<Long> ids = new ArrayList<>(planned.cardinality());
+            for (int bit = planned.nextSetBit(0); bit >= 0; bit = planned.nextSetBit(bit + 1)) {
+                ids.add(courseIndex.getCourseId(bit));
+            }
+            return ids;
+        }
+    }
+
+    private void offer(List<List<Long>> schedule) {
+        int total = 0;
+        for (List<Long> semester : schedule) {
+            for (Long id : semester) {
+                total += credits.get(id);
+            }
+        }
+        Best candidate = new Best(schedule.size(), total, schedule);
+        best.accumulateAndGet(candidate, (current, offered) ->
+                better(offered.semesters(), offered.credits(), current) ? offered : current);
+    }
+
+    private static boolean better(int semesters, int credits, Best than) {
+        return than == null || semesters < than.semesters()
+                || (semesters == than.semesters() && credits < than.credits());
+    }
+}
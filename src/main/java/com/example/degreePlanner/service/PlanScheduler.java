@@ -0,0 +1,136 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Term;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Topological scheduling of a chosen set of courses into semesters, on course ids only.
+ * Shared by PlanService and PlanOptimizer; safe to call from any thread as long as the circuits are already compiled.
+ */
+final class PlanScheduler {
+
+    // Fall and spring, in even and odd years
+    private static final int REGULAR_TERMS_PER_CYCLE = 4;
+
+    private PlanScheduler() {}
+
+    /**
+     * Each semester takes courses whose circuits are satisfied by what was done before it,
+     * longest chain of dependent courses first, until the credit cap is reached.
+     * A course worth more than the cap is placed in a semester of its own.
+     *
+     * With a start term, semesters are successive fall and spring terms from it, and a course is only placed in
+     * a term it is offered in; a semester may then stay empty while the remaining courses wait for their term.
+     *
+     * @param circuits compiled circuit of every planned course
+     * @param start regular (fall or spring) term of the first semester, or null to ignore offerings
+     * @param offerings offering index to check courses against when start is set
+     * @return course ids per semester, in order
+     * @throws IllegalStateException if some planned course can never become available
+     */
+    static List<List<Long>> schedule(Collection<Long> planned, Map<Long, PrerequisiteCircuit> circuits,
+                                     ToIntFunction<Long> credits, BitSet done, CourseIndex courseIndex, int maxCredits,
+                                     Term start, TermOfferingIndex.Snapshot offerings) {
+        Map<Long, Integer> depth = chainDepths(planned, circuits);
+        Comparator<Long> priority = Comparator.comparing((Long id) -> depth.get(id)).reversed()
+                .thenComparing(id -> id);
+
+        BitSet state = (BitSet) done.clone();
+        Set<Long> pending = new LinkedHashSet<>(planned);
+        List<List<Long>> semesters = new ArrayList<>();
+        Term term = start;
+        int idleTerms = 0;
+        while (!pending.isEmpty()) {
+            List<Long> available = new ArrayList<>();
+            boolean waiting = false;
+            for (Long id : pending) {
+                if (circuits.get(id).isSatisfiedBy(state)) {
+                    if (term == null || offerings.isOffered(courseIndex.indexOf(id), term)) {
+                        available.add(id);
+                    } else {
+                        waiting = true;
+                    }
+                }
+            }
+            if (available.isEmpty() && !waiting) {
+                throw new IllegalStateException("Cannot schedule " + pending.size()
+                        + " remaining course(s): their prerequisites can never be satisfied");
+            }
+            idleTerms = available.isEmpty() ? idleTerms + 1 : 0;
+            if (idleTerms == REGULAR_TERMS_PER_CYCLE) {
+                throw new IllegalStateException("Cannot schedule " + pending.size()
+                        + " remaining course(s): they are never offered in a fall or spring term");
+            }
+            available.sort(priority);
+
+            List<Long> semester = new ArrayList<>();
+            int semesterCredits = 0;
+            for (Long id : available) {
+                int courseCredits = credits.applyAsInt(id);
+                if (semester.isEmpty() || semesterCredits + courseCredits <= maxCredits) {
+                    semester.add(id);
+                    semesterCredits += courseCredits;
+                }
+            }
+
+            // Mark the semester done only after choosing it, so nothing depends on a course in the same semester
+            for (Long id : semester) {
+                state.set(courseIndex.indexOf(id));
+                pending.remove(id);
+            }
+            semesters.add(semester);
+            term = term != null ? term.nextRegular() : null;
+        }
+        return semesters;
+    }
+
+    /**
+     * For each planned course, the length of the longest chain of planned courses that (transitively) require it.
+     * Courses at the head of long chains have to be taken early; the largest depth is a lower bound on semesters.
+     */
+    static Map<Long, Integer> chainDepths(Collection<Long> planned, Map<Long, PrerequisiteCircuit> circuits) {
+        Set<Long> plannedSet = planned instanceof Set<Long> set ? set : new HashSet<>(planned);
+        Map<Long, Set<Long>> dependents = new HashMap<>();
+        for (Long id : planned) {
+            for (Long required : circuits.get(id).getReferencedCourseIds()) {
+                if (plannedSet.contains(required)) {
+                    dependents.computeIfAbsent(required, k -> new HashSet<>()).add(id);
+                }
+            }
+        }
+
+        Map<Long, Integer> depth = new HashMap<>();
+        for (Long id : planned) {
+            depth(id, dependents, depth, new HashSet<>());
+        }
+        return depth;
+    }
+
+    private static int depth(Long id, Map<Long, Set<Long>> dependents, Map<Long, Integer> depth, Set<Long> visiting) {
+        Integer known = depth.get(id);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(id)) {
+            return 0; // Cycle - scheduling will report it
+        }
+        int deepest = 0;
+        for (Long dependent : dependents.getOrDefault(id, Set.of())) {
+            deepest = Math.max(deepest, depth(dependent, dependents, depth, visiting));
+        }
+        visiting.remove(id);
+        depth.put(id, deepest + 1);
+        return deepest + 1;
+    }
+}
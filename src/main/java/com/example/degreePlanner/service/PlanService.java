@@ -0,0 +1,330 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import com.example.degreePlanner.entity.Major;
+import com.example.degreePlanner.entity.Requirement;
+import com.example.degreePlanner.entity.RequirementStatus;
+import com.example.degreePlanner.entity.Term;
+import com.example.degreePlanner.repository.CourseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builds semester-by-semester plans that finish a declared major.
+ *
+ * Planning works on course ids and bitsets only: the courses needed for the remaining requirements are chosen first,
+ * their missing prerequisites are added from the compiled circuits, and the result is scheduled topologically
+ * under the per-semester credit cap (see PlanScheduler). optimizePlan improves on that greedy choice with PlanOptimizer.
+ */
+@Service
+@Transactional
+public class PlanService {
+
+    private final ProgressService progressService;
+    private final EnrollmentService enrollmentService;
+    private final PrerequisiteCircuitCache prerequisiteCircuitCache;
+    private final CourseRepository courseRepository;
+    private final CourseIndex courseIndex;
+    private final TermOfferingIndex termOfferingIndex;
+    private final ForkJoinPool optimizerPool;
+    private final TransactionTemplate transactionTemplate;
+
+    public PlanService(ProgressService progressService,
+                       EnrollmentService enrollmentService,
+                       PrerequisiteCircuitCache prerequisiteCircuitCache,
+                       CourseRepository courseRepository,
+                       CourseIndex courseIndex,
+                       TermOfferingIndex termOfferingIndex,
+                       ForkJoinPool planOptimizerPool,
+                       PlatformTransactionManager transactionManager) {
+        this.progressService = progressService;
+        this.enrollmentService = enrollmentService;
+        this.prerequisiteCircuitCache = prerequisiteCircuitCache;
+        this.courseRepository = courseRepository;
+        this.courseIndex = courseIndex;
+        this.termOfferingIndex = termOfferingIndex;
+        this.optimizerPool = planOptimizerPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * One semester of a plan, numbered from 1. term is null for plans made without a start term.
+     */
+    public record PlannedSemester(int number, Term term, List<Course> courses, int credits) {}
+
+    /**
+     * Result record for a generated plan. unmetRequirements lists requirements that even every listed course
+     * would not satisfy; the plan still includes everything they offer.
+     */
+    public record DegreePlan(
+            Major major,
+            int maxCreditsPerSemester,
+            List<PlannedSemester> semesters,
+            int totalCredits,
+            List<Requirement> unmetRequirements
+    ) {}
+
+    /**
+     * Plan the rest of a declared major. In-progress enrollments are treated as completed by the first planned semester.
+     * A course worth more than the cap is placed in a semester of its own.
+     */
+    public DegreePlan generatePlan(Long studentId, String majorCode, String majorDesignation, int maxCreditsPerSemester) {
+        return generatePlan(studentId, majorCode, majorDesignation, maxCreditsPerSemester, null);
+    }
+
+    /**
+     * Plan starting in the given term: semesters are successive fall and spring terms (a summer or winter start
+     * moves to the next regular term), and each course is only placed in a term it is offered in.
+     */
+    public DegreePlan generatePlan(Long studentId, String majorCode, String majorDesignation, int maxCreditsPerSemester,
+                                   Term startTerm) {
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(studentId, majorCode, majorDesignation);
+        BitSet done = doneCourses(studentId);
+
+        List<Requirement> unmet = new ArrayList<>();
+        Set<Long> planned = choosePlan(progress, done, unmet);
+
+        Map<Long, PrerequisiteCircuit> circuits = prerequisiteCircuitCache.getAll(planned);
+        Map<Long, Course> courses = loadCourses(planned);
+        Term start = regular(startTerm);
+        List<List<Long>> semesters = PlanScheduler.schedule(planned, circuits,
+                id -> courses.get(id).getCredits(), done, courseIndex, maxCreditsPerSemester,
+                start, offerings(start));
+        return toDegreePlan(progress.major(), maxCreditsPerSemester, start, semesters, courses, unmet);
+    }
+
+    /**
+     * Result record for an optimized plan. exhaustive is false when the time budget ran out before every
+     * alternative was explored; the plan is then the best one found so far.
+     */
+    public record OptimizedPlan(DegreePlan plan, boolean exhaustive) {}
+
+    /**
+     * Like generatePlan, but searches the alternatives the greedy plan commits to - which courses cover each
+     * credit requirement, and which branch of each OR prerequisite to take - for the plan with the fewest semesters,
+     * then the fewest credits. The search runs on the planner's own pool (see PlannerConfig) for at most
+     * timeBudgetMillis and starts from the greedy plan, so it is never worse.
+     *
+     * Everything the search needs is read in a transaction of its own, which ends before the search starts, so no
+     * connection is held while it runs. Called inside an existing transaction, the reads join it instead.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public OptimizedPlan optimizePlan(Long studentId, String majorCode, String majorDesignation,
+                                      int maxCreditsPerSemester, long timeBudgetMillis) {
+        return optimizePlan(studentId, majorCode, majorDesignation, maxCreditsPerSemester, null, timeBudgetMillis);
+    }
+
+    /**
+     * Optimized plan starting in the given term, honoring course offerings (see generatePlan).
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public OptimizedPlan optimizePlan(Long studentId, String majorCode, String majorDesignation,
+                                      int maxCreditsPerSemester, Term startTerm, long timeBudgetMillis) {
+        Term start = regular(startTerm);
+        SearchInput input = transactionTemplate.execute(status ->
+                readSearchInput(studentId, majorCode, majorDesignation, start));
+
+        PlanOptimizer.Result result = PlanOptimizer.optimize(optimizerPool, input.mandatory(), input.goals(),
+                input.progress().major().getMaxRequirementsPerCourse() == null, input.greedy(), input.done(),
+                input.circuits(), input.credits(), courseIndex, maxCreditsPerSemester, start, input.offerings(),
+                timeBudgetMillis);
+        DegreePlan plan = toDegreePlan(input.progress().major(), maxCreditsPerSemester, start, result.semesters(),
+                input.courses(), input.unmet());
+        return new OptimizedPlan(plan, result.exhaustive());
+    }
+
+    /**
+     * Everything optimizePlan reads from the database, so the search itself never touches the persistence context.
+     */
+    private record SearchInput(ProgressService.MajorProgress progress, BitSet done, List<Requirement> unmet,
+                               Set<Long> greedy, Set<Long> mandatory, List<PlanOptimizer.Goal> goals,
+                               Map<Long, PrerequisiteCircuit> circuits, Map<Long, Course> courses,
+                               Map<Long, Integer> credits, TermOfferingIndex.Snapshot offerings) {}
+
+    private SearchInput readSearchInput(Long studentId, String majorCode, String majorDesignation, Term start) {
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(studentId, majorCode, majorDesignation);
+        BitSet done = doneCourses(studentId);
+
+        List<Requirement> unmet = new ArrayList<>();
+        Set<Long> greedy = choosePlan(progress, done, unmet);
+
+        Set<Long> mandatory = new LinkedHashSet<>();
+        List<PlanOptimizer.Goal> goals = new ArrayList<>();
+        for (ProgressService.RequirementProgress requirement : progress.requirements()) {
+            if (requirement.projectedStatus() == RequirementStatus.COMPLETE) {
+                continue;
+            }
+            List<Long> candidates = new ArrayList<>();
+            for (Course course : requirement.remainingCourses()) {
+                if (!done.get(courseIndex.indexOf(course.getId()))) {
+                    candidates.add(course.getId());
+                }
+            }
+            if (requirement.requirement().getMinCredits() == null || unmet.contains(requirement.requirement())) {
+                mandatory.addAll(candidates);
+            } else {
+                goals.add(new PlanOptimizer.Goal(candidates,
+                        requirement.requirement().getMinCredits() - requirement.projectedCreditsCompleted()));
+            }
+        }
+
+        // Everything the search can reach
+        Set<Long> reachable = new LinkedHashSet<>(greedy);
+        goals.forEach(goal -> reachable.addAll(goal.candidates()));
+        Map<Long, PrerequisiteCircuit> circuits = new HashMap<>();
+        List<Long> frontier = new ArrayList<>(reachable);
+        while (!frontier.isEmpty()) {
+            Map<Long, PrerequisiteCircuit> loaded = prerequisiteCircuitCache.getAll(frontier);
+            circuits.putAll(loaded);
+            frontier = new ArrayList<>();
+            for (PrerequisiteCircuit circuit : loaded.values()) {
+                for (Long required : circuit.getReferencedCourseIds()) {
+                    if (reachable.add(required)) {
+                        frontier.add(required);
+                    }
+                }
+            }
+        }
+        Map<Long, Course> courses = loadCourses(reachable);
+        Map<Long, Integer> credits = new HashMap<>();
+        courses.forEach((id, course) -> credits.put(id, course.getCredits()));
+
+        return new SearchInput(progress, done, unmet, greedy, mandatory, goals, circuits, courses, credits,
+                offerings(start));
+    }
+
+    /**
+     * Greedy choice of courses for the remaining requirements, closed under prerequisites.
+     * Requirements the listed courses cannot cover are added to unmet.
+     */
+    private Set<Long> choosePlan(ProgressService.MajorProgress progress, BitSet done, List<Requirement> unmet) {
+        boolean shareCourses = progress.major().getMaxRequirementsPerCourse() == null;
+        Set<Long> planned = new LinkedHashSet<>();
+        for (ProgressService.RequirementProgress requirement : progress.requirements()) {
+            if (requirement.projectedStatus() != RequirementStatus.COMPLETE
+                    && !chooseCourses(requirement, done, planned, shareCourses)) {
+                unmet.add(requirement.requirement());
+            }
+        }
+
+        addMissingPrerequisites(planned, done);
+        return planned;
+    }
+
+    private BitSet doneCourses(Long studentId) {
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
+        BitSet done = (BitSet) courseSets.completed().clone();
+        done.or(courseSets.inProgress());
+        return done;
+    }
+
+    private Map<Long, Course> loadCourses(Collection<Long> courseIds) {
+        Map<Long, Course> courses = new HashMap<>();
+        for (Course course : courseRepository.findAllById(courseIds)) {
+            courses.put(course.getId(), course);
+        }
+        return courses;
+    }
+
+    private static Term regular(Term term) {
+        return term == null || term.isRegular() ? term : term.nextRegular();
+    }
+
+    private TermOfferingIndex.Snapshot offerings(Term start) {
+        return start != null ? termOfferingIndex.snapshot() : null;
+    }
+
+    private DegreePlan toDegreePlan(Major major, int maxCreditsPerSemester, Term start, List<List<Long>> semesterIds,
+                                    Map<Long, Course> courses, List<Requirement> unmet) {
+        List<PlannedSemester> semesters = new ArrayList<>();
+        int totalCredits = 0;
+        Term term = start;
+        for (List<Long> ids : semesterIds) {
+            List<Course> semester = ids.stream().map(courses::get).toList();
+            int credits = semester.stream().mapToInt(Course::getCredits).sum();
+            semesters.add(new PlannedSemester(semesters.size() + 1, term, semester, credits));
+            totalCredits += credits;
+            term = term != null ? term.nextRegular() : null;
+        }
+        return new DegreePlan(major, maxCreditsPerSemester, semesters, totalCredits, unmet);
+    }
+
+    /**
+     * Add courses that would finish the requirement. Course-list requirements take every missing course;
+     * credit requirements take courses until the projected shortfall is covered, preferring courses the plan
+     * already has (when courses may count toward several requirements), then courses with fewer missing
+     * prerequisites, then larger courses. Returns false if the requirement's courses cannot cover it.
+     */
+    private boolean chooseCourses(ProgressService.RequirementProgress requirement, BitSet done,
+                                  Set<Long> planned, boolean shareCourses) {
+        List<Course> candidates = new ArrayList<>();
+        for (Course course : requirement.remainingCourses()) {
+            if (!done.get(courseIndex.indexOf(course.getId()))) {
+                candidates.add(course);
+            }
+        }
+
+        Integer minCredits = requirement.requirement().getMinCredits();
+        if (minCredits == null) {
+            candidates.forEach(course -> planned.add(course.getId()));
+            return true;
+        }
+
+        Map<Long, Integer> missingPrerequisites = new HashMap<>();
+        for (Course course : candidates) {
+            missingPrerequisites.put(course.getId(),
+                    prerequisiteCircuitCache.get(course.getId()).cheapestMissing(done, id -> 1).size());
+        }
+        candidates.sort(Comparator
+                .comparing((Course course) -> !(shareCourses && planned.contains(course.getId())))
+                .thenComparing(course -> missingPrerequisites.get(course.getId()))
+                .thenComparing(Comparator.comparingInt(Course::getCredits).reversed())
+                .thenComparing(Course::getId));
+
+        int needed = minCredits - requirement.projectedCreditsCompleted();
+        for (Course course : candidates) {
+            if (needed <= 0) {
+                break;
+            }
+            if (!shareCourses && planned.contains(course.getId())) {
+                continue; // Already counted toward another requirement
+            }
+            planned.add(course.getId());
+            needed -= course.getCredits();
+        }
+        return needed <= 0;
+    }
+
+    /**
+     * Close the plan under prerequisites: for every planned course, add the fewest courses that satisfy its
+     * circuit, until nothing new is added.
+     */
+    private void addMissingPrerequisites(Set<Long> planned, BitSet done) {
+        List<Long> queue = new ArrayList<>(planned);
+        for (int i = 0; i < queue.size(); i++) {
+            BitSet available = (BitSet) done.clone();
+            for (Long id : planned) {
+                available.set(courseIndex.indexOf(id));
+            }
+            for (Long required : prerequisiteCircuitCache.get(queue.get(i)).cheapestMissing(available, id -> 1)) {
+                if (planned.add(required)) {
+                    queue.add(required);
+                }
+            }
+        }
+    }
+}
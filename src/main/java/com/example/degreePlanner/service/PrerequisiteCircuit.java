@@ -0,0 +1,440 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Prerequisite;
+import com.example.degreePlanner.entity.PrerequisiteItem;
+import com.example.degreePlanner.entity.PrerequisiteType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, entity-free copy of a course's prerequisite tree.
+ * Built once from the Prerequisite/PrerequisiteItem graph and evaluated as a boolean circuit,
+ * so eligibility checks never touch JPA after compilation.
+ */
+public final class PrerequisiteCircuit {
+
+    // Gates re-sort their children from observed outcomes after this many evaluations
+    private static final int REORDER_INTERVAL = 256;
+
+    // Short-circuit counters across all circuits (see evaluationStats)
+    private static final LongAdder EVALUATIONS = new LongAdder();
+    private static final LongAdder NODES_VISITED = new LongAdder();
+    private static final LongAdder NODES_SKIPPED = new LongAdder();
+
+    private final Long courseId;
+    private final Node root; // null when the course has no prerequisites
+    private final Set<Long> referencedCourseIds;
+
+    private PrerequisiteCircuit(Long courseId, Node root) {
+        this.courseId = courseId;
+        this.root = root;
+
+        Set<Long> referenced = new LinkedHashSet<>();
+        if (root != null) {
+            collectLeaves(root, referenced);
+        }
+        this.referencedCourseIds = Collections.unmodifiableSet(referenced);
+    }
+
+    /**
+     * Circuit for a course without prerequisites - always satisfied.
+     */
+    public static PrerequisiteCircuit none(Long courseId) {
+        return new PrerequisiteCircuit(courseId, null);
+    }
+
+    /**
+     * Compile a root Prerequisite (and all nested groups) into a circuit.
+     * Leaves carry their CourseIndex bit so evaluation is a plain BitSet lookup.
+     * Structurally identical subtrees are compiled to a single shared node.
+     */
+    public static PrerequisiteCircuit compile(Long courseId, Prerequisite prerequisite, CourseIndex courseIndex) {
+        if (prerequisite == null) {
+            return none(courseId);
+        }
+        return new PrerequisiteCircuit(courseId, compileGroup(prerequisite, courseIndex, new HashMap<>()));
+    }
+
+    public Long getCourseId() { return courseId; }
+
+    public boolean hasPrerequisites() { return root != null; }
+
+    /**
+     * All leaf course ids that appear anywhere in the tree.
+     */
+    public Set<Long> getReferencedCourseIds() { return referencedCourseIds; }
+
+    /**
+     * Evaluate the circuit against the completed-course bitset.
+     * AND type: ALL children must be satisfied
+     * OR type: ANY child must be satisfied
+     * Children are tried in each gate's adaptive order, so the branch most likely to decide the gate goes first.
+     */
+    public boolean isSatisfiedBy(BitSet completed) {
+        EVALUATIONS.increment();
+        if (root == null) {
+            return true;
+        }
+        // Counted in the walk and published once, so the shared counters stay off the per-node path. Every node of
+        // the tree is either visited or inside a subtree skipped by a short-circuit, so skipped is what is left.
+        int outcome = evaluate(root, completed, true);
+        int visited = Math.abs(outcome);
+        NODES_VISITED.add(visited);
+        if (visited < root.size()) {
+            NODES_SKIPPED.add(root.size() - visited);
+        }
+        return outcome > 0;
+    }
+
+    /**
+     * isSatisfiedBy without recording anything: no statistics, and no outcomes for the gates' adaptive order.
+     * For analyses over synthetic course sets (PrerequisiteGraph), which would otherwise skew both.
+     */
+    boolean isSatisfiedByUnrecorded(BitSet completed) {
+        return root == null || evaluate(root, completed, false) > 0;
+    }
+
+    /**
+     * Totals for isSatisfiedBy since startup: nodes actually visited, and nodes skipped by short-circuiting.
+     */
+    public record EvaluationStats(long evaluations, long nodesVisited, long nodesSkipped) {}
+
+    public static EvaluationStats evaluationStats() {
+        return new EvaluationStats(EVALUATIONS.sum(), NODES_VISITED.sum(), NODES_SKIPPED.sum());
+    }
+
+    /**
+     * Evaluate the circuit and collect missing course ids (in tree order) in the same walk.
+     * AND groups contribute every missing child; OR groups contribute all options only if none is satisfied.
+     */
+    public boolean evaluate(BitSet completed, Collection<Long> missing) {
+        return root == null || evaluate(root, completed, missing);
+    }
+
+    /**
+     * Cheapest set of missing courses that would satisfy the circuit, by the given per-course cost
+     * (credits, or 1 per course). OR groups keep only their cheapest option; AND groups take the union of
+     * their children, so a course required by several branches is only paid for once.
+     * Plans are memoized per node, so shared subtrees are solved once. Returns an empty list when already satisfied.
+     */
+    public List<Long> cheapestMissing(BitSet completed, ToIntFunction<Long> cost) {
+        if (root == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(plan(root, completed, cost, new IdentityHashMap<>()).courseIds());
+    }
+
+    /**
+     * Longest chain of courses that has to be taken, one after another, before this course.
+     * chainOf gives each required course's own chain (ending with that course; empty if it is already done).
+     * AND groups take their longest child chain, OR groups their shortest, so the cheapest branch is assumed.
+     */
+    public List<Long> criticalChain(Function<Long, List<Long>> chainOf) {
+        if (root == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(chain(root, chainOf, new IdentityHashMap<>()));
+    }
+
+    /**
+     * Number of nodes visited, positive if the node is satisfied and negative if not.
+     * Outcomes feed the gates' adaptive order only when record is set.
+     */
+    private static int evaluate(Node node, BitSet completed, boolean record) {
+        if (node instanceof Leaf leaf) {
+            return completed.get(leaf.courseIndex()) ? 1 : -1;
+        }
+
+        Gate gate = (Gate) node;
+        if (gate.children().isEmpty()) {
+            return 1; // No items means satisfied
+        }
+
+        // AND is decided by the first failing child, OR by the first passing one
+        boolean deciding = gate.type() != PrerequisiteType.AND;
+        int visited = 1;
+        int[] order = gate.order;
+        for (int childIndex : order) {
+            int outcome = evaluate(gate.children().get(childIndex), completed, record);
+            boolean satisfied = outcome > 0;
+            visited += Math.abs(outcome);
+            if (record) {
+                gate.record(childIndex, satisfied);
+            }
+            if (satisfied == deciding) {
+                if (record) {
+                    gate.evaluated();
+                }
+                return deciding ? visited : -visited;
+            }
+        }
+        if (record) {
+            gate.evaluated();
+        }
+        return deciding ? -visited : visited;
+    }
+
+    private static boolean evaluate(Node node, BitSet completed, Collection<Long> missing) {
+        if (node instanceof Leaf leaf) {
+            if (completed.get(leaf.courseIndex())) {
+                return true;
+            }
+            if (!missing.contains(leaf.courseId())) {
+                missing.add(leaf.courseId());
+            }
+            return false;
+        }
+
+        Gate gate = (Gate) node;
+        if (gate.type() == PrerequisiteType.AND) {
+            // No short-circuit: every failing branch has to report what it is missing
+            boolean satisfied = true;
+            for (Node child : gate.children()) {
+                satisfied &= evaluate(child, completed, missing);
+            }
+            return satisfied;
+        }
+
+        if (gate.children().isEmpty()) {
+            return true;
+        }
+
+        // OR: options are only reported if no branch is satisfied, so buffer them until we know
+        List<Long> options = new ArrayList<>();
+        for (Node child : gate.children()) {
+            if (evaluate(child, completed, options)) {
+                return true;
+            }
+        }
+        for (Long option : options) {
+            if (!missing.contains(option)) {
+                missing.add(option);
+            }
+        }
+        return false;
+    }
+
+    private static List<Long> chain(Node node, Function<Long, List<Long>> chainOf, Map<Node, List<Long>> memo) {
+        List<Long> known = memo.get(node);
+        if (known != null) {
+            return known;
+        }
+
+        List<Long> result;
+        if (node instanceof Leaf leaf) {
+            result = chainOf.apply(leaf.courseId());
+        } else {
+            Gate gate = (Gate) node;
+            boolean longest = gate.type() == PrerequisiteType.AND;
+            result = null;
+            for (Node child : gate.children()) {
+                List<Long> option = chain(child, chainOf, memo);
+                if (result == null || (longest ? option.size() > result.size() : option.size() < result.size())) {
+                    result = option;
+                }
+            }
+            if (result == null) {
+                result = List.of();
+            }
+        }
+
+        memo.put(node, result);
+        return result;
+    }
+
+    private static Plan plan(Node node, BitSet completed, ToIntFunction<Long> cost, Map<Node, Plan> memo) {
+        Plan known = memo.get(node);
+        if (known != null) {
+            return known;
+        }
+
+        Plan result;
+        if (node instanceof Leaf leaf) {
+            result = completed.get(leaf.courseIndex())
+                    ? Plan.EMPTY
+                    : new Plan(cost.applyAsInt(leaf.courseId()), Set.of(leaf.courseId()));
+        } else {
+            Gate gate = (Gate) node;
+            if (gate.children().isEmpty()) {
+                result = Plan.EMPTY;
+            } else if (gate.type() == PrerequisiteType.AND) {
+                Set<Long> union = new LinkedHashSet<>();
+                for (Node child : gate.children()) {
+                    union.addAll(plan(child, completed, cost, memo).courseIds());
+                }
+                int total = 0;
+                for (Long id : union) {
+                    total += cost.applyAsInt(id);
+                }
+                result = new Plan(total, union);
+            } else {
+                result = null;
+                for (Node child : gate.children()) {
+                    Plan option = plan(child, completed, cost, memo);
+                    if (result == null || option.cost() < result.cost()) {
+                        result = option;
+                    }
+                    if (result.cost() == 0) {
+                        break; // Already satisfied, nothing can be cheaper
+                    }
+                }
+            }
+        }
+
+        memo.put(node, result);
+        return result;
+    }
+
+    private static Node compileGroup(Prerequisite prerequisite, CourseIndex courseIndex, Map<Node, Node> shared) {
+        List<Node> children = new ArrayList<>();
+        if (prerequisite.getItems() != null) {
+            for (PrerequisiteItem item : prerequisite.getItems()) {
+                children.add(compileItem(item, courseIndex, shared));
+            }
+        }
+        return share(new Gate(prerequisite.getType(), List.copyOf(children)), shared);
+    }
+
+    private static Node compileItem(PrerequisiteItem item, CourseIndex courseIndex, Map<Node, Node> shared) {
+        if (item.isLeaf()) {
+            Long requiredId = item.getCourse().getId();
+            return share(new Leaf(requiredId, courseIndex.indexOf(requiredId)), shared);
+        } else if (item.isGroup()) {
+            return compileGroup(item.getNestedPrerequisite(), courseIndex, shared);
+        }
+        // Neither leaf nor group (shouldn't happen) - treat as satisfied
+        return share(new Gate(PrerequisiteType.AND, List.of()), shared);
+    }
+
+    private static Node share(Node node, Map<Node, Node> shared) {
+        Node existing = shared.putIfAbsent(node, node);
+        return existing != null ? existing : node;
+    }
+
+    private static void collectLeaves(Node node, Set<Long> out) {
+        if (node instanceof Leaf leaf) {
+            out.add(leaf.courseId());
+        } else {
+            for (Node child : ((Gate) node).children()) {
+                collectLeaves(child, out);
+            }
+        }
+    }
+
+    private sealed interface Node permits Leaf, Gate {
+        int size(); // Nodes in this subtree, used as the cost of evaluating it
+    }
+
+    private record Leaf(Long courseId, int courseIndex) implements Node {
+        @Override
+        public int size() { return 1; }
+    }
+
+    /**
+     * AND/OR group. Equality is structural (type and children) so identical subtrees can be shared;
+     * the evaluation order and outcome counters are mutable and ignored by equals.
+     */
+    private static final class Gate implements Node {
+        private final PrerequisiteType type;
+        private final List<Node> children; // Tree order - used for reporting missing courses and plans
+        private final int size;
+        private final int hash;
+
+        private volatile int[] order; // Indices into children, in evaluation order
+        private final AtomicLongArray visits;
+        private final AtomicLongArray passes;
+        private final AtomicLong evaluations = new AtomicLong();
+
+        Gate(PrerequisiteType type, List<Node> children) {
+            this.type = type;
+            this.children = children;
+            this.hash = Objects.hash(type, children);
+            this.visits = new AtomicLongArray(children.size());
+            this.passes = new AtomicLongArray(children.size());
+
+            int total = 1;
+            for (Node child : children) {
+                total += child.size();
+            }
+            this.size = total;
+
+            // Before any statistics exist, try the cheapest subtrees first
+            this.order = sortedOrder(i -> children.get(i).size());
+        }
+
+        PrerequisiteType type() { return type; }
+
+        List<Node> children() { return children; }
+
+        @Override
+        public int size() { return size; }
+
+        void record(int childIndex, boolean satisfied) {
+            visits.incrementAndGet(childIndex);
+            if (satisfied) {
+                passes.incrementAndGet(childIndex);
+            }
+        }
+
+        void evaluated() {
+            if (evaluations.incrementAndGet() % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+        }
+
+        /**
+         * Order children by expected cost per decision: subtree size divided by the (smoothed) observed
+         * probability that the child decides the gate - failing for AND, passing for OR.
+         */
+        private void reorder() {
+            double[] keys = new double[children.size()];
+            for (int i = 0; i < keys.length; i++) {
+                long visited = visits.get(i);
+                long passed = passes.get(i);
+                long decided = type == PrerequisiteType.AND ? visited - passed : passed;
+                double probability = (decided + 1.0) / (visited + 2.0);
+                keys[i] = children.get(i).size() / probability;
+            }
+            order = sortedOrder(i -> keys[i]);
+        }
+
+        private int[] sortedOrder(IntToDoubleFunction key) {
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < children.size(); i++) {
+                indices.add(i);
+            }
+            indices.sort((a, b) -> Double.compare(key.applyAsDouble(a), key.applyAsDouble(b)));
+            return indices.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Gate other)) return false;
+            return type == other.type && children.equals(other.children);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+
+    private record Plan(int cost, Set<Long> courseIds) {
+        static final Plan EMPTY = new Plan(0, Set.of());
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Prerequisite;
+import com.example.degreePlanner.repository.PrerequisiteRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory cache of compiled prerequisite circuits, keyed by course id.
+ * Entries are compiled lazily on first use and evicted by CourseService whenever a course's prerequisites change
+ * (or the course itself is created or deleted).
+ *
+ * A circuit is only cached if no eviction happened while it was being read, so a reader that compiled a tree
+ * from before a concurrent write committed cannot put it back after the write's eviction. Trees the current
+ * transaction has changed are compiled into that transaction only and never shared until it commits.
+ *
+ * Also keeps the reverse index: required course id -> courses whose prerequisite tree mentions it.
+ */
+@Component
+public class PrerequisiteCircuitCache {
+
+    private final PrerequisiteRepository prerequisiteRepository;
+    private final CourseIndex courseIndex;
+    private final ConcurrentMap<Long, PrerequisiteCircuit> circuits = new ConcurrentHashMap<>();
+
+    // Reverse index, only complete once every root tree has been loaded (see ensureIndexComplete)
+    private final Map<Long, Set<Long>> dependents = new HashMap<>();
+    private final Set<Long> pendingReindex = ConcurrentHashMap.newKeySet();
+    private volatile boolean indexComplete = false;
+    private final Object indexBuildLock = new Object();
+
+    // Transactions with uncommitted prerequisite writes; lets the common case skip the per-transaction lookup
+    private final AtomicInteger writingTransactions = new AtomicInteger();
+
+    // Bumped on every eviction; caches derived from circuits key on it
+    private final AtomicLong version = new AtomicLong();
+
+    // Notified with the course id on every eviction (see PrerequisiteGraph)
+    private final List<Consumer<Long>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public PrerequisiteCircuitCache(PrerequisiteRepository prerequisiteRepository, CourseIndex courseIndex) {
+        this.prerequisiteRepository = prerequisiteRepository;
+        this.courseIndex = courseIndex;
+    }
+
+    /**
+     * Get the compiled circuit for a course, compiling it from the database on a miss.
+     */
+    public PrerequisiteCircuit get(Long courseId) {
+        PendingWrites pending = pendingWrites();
+        if (pending != null && pending.courseIds.contains(courseId)) {
+            return pending.compiled.computeIfAbsent(courseId, id -> PrerequisiteCircuit.compile(id,
+                    prerequisiteRepository.findByCourseId(id).orElse(null), courseIndex));
+        }
+
+        PrerequisiteCircuit circuit = circuits.get(courseId);
+        if (circuit != null) {
+            return circuit;
+        }
+
+        long seen = version.get();
+        return cache(PrerequisiteCircuit.compile(courseId,
+                prerequisiteRepository.findByCourseId(courseId).orElse(null), courseIndex), seen);
+    }
+
+    /**
+     * Get circuits for many courses at once. When more than one course is missing from the cache,
+     * every prerequisite tree is fetched with a single set-based query instead of one query per course.
+     */
+    public Map<Long, PrerequisiteCircuit> getAll(Collection<Long> courseIds) {
+        PendingWrites pending = pendingWrites();
+        Map<Long, PrerequisiteCircuit> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long courseId : courseIds) {
+            PrerequisiteCircuit circuit = pending != null && pending.courseIds.contains(courseId)
+                    ? pending.compiled.get(courseId)
+                    : circuits.get(courseId);
+            if (circuit != null) {
+                result.put(courseId, circuit);
+            } else {
+                misses.add(courseId);
+            }
+        }
+
+        if (misses.size() == 1) {
+            result.put(misses.get(0), get(misses.get(0)));
+        } else if (!misses.isEmpty()) {
+            long seen = version.get();
+            Map<Long, Prerequisite> rootsByCourseId = loadAllRoots();
+            for (Long courseId : misses) {
+                PrerequisiteCircuit compiled = PrerequisiteCircuit.compile(courseId, rootsByCourseId.get(courseId), courseIndex);
+                if (pending != null && pending.courseIds.contains(courseId)) {
+                    pending.compiled.put(courseId, compiled);
+                    result.put(courseId, compiled);
+                } else {
+                    result.put(courseId, cache(compiled, seen));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Course ids whose prerequisite tree references the given course anywhere (directly or in a nested group).
+     */
+    public Set<Long> getDependents(Long requiredCourseId) {
+        ensureIndexComplete();
+        Set<Long> result;
+        synchronized (dependents) {
+            Set<Long> ids = dependents.get(requiredCourseId);
+            result = ids == null ? new HashSet<>() : new HashSet<>(ids);
+        }
+
+        // Trees this transaction changed are not in the shared index; use them as this transaction sees them
+        PendingWrites pending = pendingWrites();
+        if (pending != null) {
+            for (Long courseId : pending.courseIds) {
+                result.remove(courseId);
+                if (get(courseId).getReferencedCourseIds().contains(requiredCourseId)) {
+                    result.add(courseId);
+                }
+            }
+        }
+        return Set.copyOf(result);
+    }
+
+    /**
+     * Ids of every course that currently has a prerequisite tree.
+     */
+    public Set<Long> getCoursesWithPrerequisites() {
+        ensureIndexComplete();
+        Set<Long> ids = new HashSet<>();
+        for (PrerequisiteCircuit circuit : circuits.values()) {
+            if (circuit.hasPrerequisites()) {
+                ids.add(circuit.getCourseId());
+            }
+        }
+
+        PendingWrites pending = pendingWrites();
+        if (pending != null) {
+            for (Long courseId : pending.courseIds) {
+                ids.remove(courseId);
+                if (get(courseId).hasPrerequisites()) {
+                    ids.add(courseId);
+                }
+            }
+        }
+        return ids;
+    }
+
+    public void addEvictionListener(Consumer<Long> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Changes whenever any course's prerequisites, or the set of courses, may have changed.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Evict a course's circuit. Eviction is repeated once the surrounding transaction completes, and until then
+     * the transaction compiles the course's tree for itself instead of sharing it.
+     */
+    public void invalidate(Long courseId) {
+        evict(courseId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingWrites pending = pendingWrites();
+            if (pending == null) {
+                PendingWrites bound = new PendingWrites();
+                TransactionSynchronizationManager.bindResource(this, bound);
+                writingTransactions.incrementAndGet();
+                pending = bound;
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(PrerequisiteCircuitCache.this);
+                        writingTransactions.decrementAndGet();
+                        for (Long id : bound.courseIds) {
+                            evict(id);
+                        }
+                    }
+                });
+            }
+            pending.courseIds.add(courseId);
+            pending.compiled.remove(courseId);
+        }
+    }
+
+    /**
+     * Courses whose trees the current transaction changed, and their circuits as that transaction sees them.
+     */
+    private static final class PendingWrites {
+        private final Set<Long> courseIds = new HashSet<>();
+        private final Map<Long, PrerequisiteCircuit> compiled = new HashMap<>();
+    }
+
+    private PendingWrites pendingWrites() {
+        if (writingTransactions.get() == 0) {
+            return null;
+        }
+        return (PendingWrites) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Share a circuit compiled from a read that started at version seen. If anything was evicted since,
+     * the read may predate a committed write, so the circuit is returned without being cached.
+     */
+    private PrerequisiteCircuit cache(PrerequisiteCircuit compiled, long seen) {
+        synchronized (dependents) {
+            if (version.get() != seen) {
+                pendingReindex.add(compiled.getCourseId());
+                return compiled;
+            }
+            PrerequisiteCircuit existing = circuits.putIfAbsent(compiled.getCourseId(), compiled);
+            if (existing != null) {
+                return existing;
+            }
+            for (Long requiredId : compiled.getReferencedCourseIds()) {
+                dependents.computeIfAbsent(requiredId, id -> new HashSet<>()).add(compiled.getCourseId());
+            }
+            return compiled;
+        }
+    }
+
+    private void evict(Long courseId) {
+        synchronized (dependents) {
+            PrerequisiteCircuit removed = circuits.remove(courseId);
+            if (removed != null) {
+                for (Long requiredId : removed.getReferencedCourseIds()) {
+                    Set<Long> ids = dependents.get(requiredId);
+                    if (ids != null) {
+                        ids.remove(courseId);
+                    }
+                }
+            }
+            // The course may have gained a tree; recompile it before the reverse index is next read
+            pendingReindex.add(courseId);
+            version.incrementAndGet();
+        }
+
+        for (Consumer<Long> listener : evictionListeners) {
+            listener.accept(courseId);
+        }
+    }
+
+    /**
+     * Load every tree once, under a lock so concurrent first callers do not each load them,
+     * and again if an eviction lands while the trees are being read.
+     */
+    private void ensureIndexComplete() {
+        if (!indexComplete) {
+            synchronized (indexBuildLock) {
+                while (!indexComplete) {
+                    long seen = version.get();
+                    Map<Long, Prerequisite> roots = loadAllRoots();
+                    PendingWrites pending = pendingWrites();
+                    synchronized (dependents) {
+                        if (version.get() == seen) {
+                            pendingReindex.clear();
+                            for (Map.Entry<Long, Prerequisite> root : roots.entrySet()) {
+                                if (pending != null && pending.courseIds.contains(root.getKey())) {
+                                    continue; // Indexed once this transaction completes and evicts it again
+                                }
+                                cache(PrerequisiteCircuit.compile(root.getKey(), root.getValue(), courseIndex), seen);
+                            }
+                            indexComplete = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!pendingReindex.isEmpty()) {
+            List<Long> pending = List.copyOf(pendingReindex);
+            pendingReindex.removeAll(pending);
+            getAll(pending);
+        }
+    }
+
+    private Map<Long, Prerequisite> loadAllRoots() {
+        Map<Long, Prerequisite> rootsByCourseId = new HashMap<>();
+        for (Prerequisite prerequisite : prerequisiteRepository.findAllWithItems()) {
+            if (prerequisite.isRoot()) {
+                rootsByCourseId.put(prerequisite.getCourse().getId(), prerequisite);
+            }
+        }
+        return rootsByCourseId;
+    }
+}
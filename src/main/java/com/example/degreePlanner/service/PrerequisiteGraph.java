@@ -0,0 +1,226 @@
+package com.example.degreePlanner.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Course-level view of the prerequisite graph: which courses can never be taken, and which depend on each other in a cycle.
+ *
+ * A course is reachable if its prerequisite circuit can be satisfied using only reachable courses
+ * (courses without prerequisites are reachable). The unreachable set is built once, then kept current by
+ * re-solving only the courses whose trees changed plus everything that transitively depends on them.
+ */
+@Component
+public class PrerequisiteGraph {
+
+    private final PrerequisiteCircuitCache prerequisiteCircuitCache;
+    private final CourseIndex courseIndex;
+
+    // Guarded by this
+    private final Set<Long> unreachable = new HashSet<>();
+    private boolean built = false;
+
+    // Courses whose trees changed since the last refresh
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public PrerequisiteGraph(PrerequisiteCircuitCache prerequisiteCircuitCache, CourseIndex courseIndex) {
+        this.prerequisiteCircuitCache = prerequisiteCircuitCache;
+        this.courseIndex = courseIndex;
+        prerequisiteCircuitCache.addEvictionListener(dirty::add);
+    }
+
+    public synchronized boolean isReachable(Long courseId) {
+        refresh();
+        return !unreachable.contains(courseId);
+    }
+
+    public synchronized Set<Long> getUnreachable() {
+        refresh();
+        return Set.copyOf(unreachable);
+    }
+
+    /**
+     * Shortest cycle through the course, as course ids starting and ending with it
+     * (each course requires the next). Empty if the course is not on a cycle.
+     */
+    public List<Long> findCycle(Long courseId) {
+        Set<Long> required = prerequisiteCircuitCache.get(courseId).getReferencedCourseIds();
+        if (required.contains(courseId)) {
+            return List.of(courseId, courseId);
+        }
+
+        // Walk outwards through the courses that (transitively) require this one,
+        // until we reach one that this course itself requires
+        Map<Long, Long> requiredBy = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(courseId);
+        requiredBy.put(courseId, null);
+
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+            for (Long dependent : prerequisiteCircuitCache.getDependents(current)) {
+                if (requiredBy.containsKey(dependent)) {
+                    continue;
+                }
+                requiredBy.put(dependent, current);
+                if (required.contains(dependent)) {
+                    List<Long> cycle = new ArrayList<>();
+                    cycle.add(courseId);
+                    for (Long step = dependent; step != null; step = requiredBy.get(step)) {
+                        cycle.add(step);
+                    }
+                    return cycle;
+                }
+                queue.add(dependent);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Every group of courses that require each other (strongly connected components of the
+     * "requires" graph with more than one course, or a course that lists itself).
+     */
+    public List<List<Long>> findCycles() {
+        Set<Long> courses = prerequisiteCircuitCache.getCoursesWithPrerequisites();
+        Map<Long, PrerequisiteCircuit> circuits = prerequisiteCircuitCache.getAll(courses);
+        return new CycleFinder(circuits).run();
+    }
+
+    private void refresh() {
+        if (!built) {
+            dirty.clear();
+            unreachable.clear();
+            solve(prerequisiteCircuitCache.getCoursesWithPrerequisites());
+            built = true;
+        }
+
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Long> changed = List.copyOf(dirty);
+        dirty.removeAll(changed);
+
+        // Only the changed courses and their transitive dependents can change reachability
+        Set<Long> region = new HashSet<>();
+        Deque<Long> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            Long id = queue.poll();
+            if (region.add(id)) {
+                queue.addAll(prerequisiteCircuitCache.getDependents(id));
+            }
+        }
+
+        unreachable.removeAll(region);
+        solve(region);
+    }
+
+    /**
+     * Least fixpoint over the region: start with everything in it blocked and unblock courses whose
+     * circuits become satisfiable, until nothing changes. Whatever is left is unreachable.
+     */
+    private void solve(Set<Long> region) {
+        Map<Long, PrerequisiteCircuit> circuits = prerequisiteCircuitCache.getAll(region);
+
+        BitSet reachable = new BitSet();
+        reachable.set(0, courseIndex.size());
+        for (Long id : unreachable) {
+            reachable.clear(courseIndex.indexOf(id));
+        }
+
+        List<Long> pending = new ArrayList<>();
+        for (Long id : region) {
+            if (circuits.get(id).hasPrerequisites()) {
+                reachable.clear(courseIndex.indexOf(id));
+                pending.add(id);
+            }
+        }
+
+        boolean progress = true;
+        while (progress && !pending.isEmpty()) {
+            progress = false;
+            Iterator<Long> it = pending.iterator();
+            while (it.hasNext()) {
+                Long id = it.next();
+                if (circuits.get(id).isSatisfiedByUnrecorded(reachable)) {
+                    reachable.set(courseIndex.indexOf(id));
+                    it.remove();
+                    progress = true;
+                }
+            }
+        }
+
+        unreachable.addAll(pending);
+    }
+
+    /**
+     * Tarjan's strongly connected components over course -> required course edges.
+     */
+    private static final class CycleFinder {
+        private final Map<Long, PrerequisiteCircuit> circuits;
+        private final Map<Long, Integer> index = new HashMap<>();
+        private final Map<Long, Integer> lowLink = new HashMap<>();
+        private final Deque<Long> stack = new ArrayDeque<>();
+        private final Set<Long> onStack = new HashSet<>();
+        private final List<List<Long>> cycles = new ArrayList<>();
+        private int counter = 0;
+
+        CycleFinder(Map<Long, PrerequisiteCircuit> circuits) {
+            this.circuits = circuits;
+        }
+
+        List<List<Long>> run() {
+            for (Long courseId : circuits.keySet()) {
+                if (!index.containsKey(courseId)) {
+                    visit(courseId);
+                }
+            }
+            return cycles;
+        }
+
+        private void visit(Long courseId) {
+            index.put(courseId, counter);
+            lowLink.put(courseId, counter);
+            counter++;
+            stack.push(courseId);
+            onStack.add(courseId);
+
+            PrerequisiteCircuit circuit = circuits.get(courseId);
+            Set<Long> required = circuit != null ? circuit.getReferencedCourseIds() : Set.of();
+            for (Long requiredId : required) {
+                if (!index.containsKey(requiredId)) {
+                    visit(requiredId);
+                    lowLink.put(courseId, Math.min(lowLink.get(courseId), lowLink.get(requiredId)));
+                } else if (onStack.contains(requiredId)) {
+                    lowLink.put(courseId, Math.min(lowLink.get(courseId), index.get(requiredId)));
+                }
+            }
+
+            if (lowLink.get(courseId).equals(index.get(courseId))) {
+                List<Long> component = new ArrayList<>();
+                Long member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(courseId));
+
+                if (component.size() > 1 || required.contains(courseId)) {
+                    cycles.add(component);
+                }
+            }
+        }
+    }
+}
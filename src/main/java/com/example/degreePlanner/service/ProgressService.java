@@ -7,29 +7,46 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProgressService {
 
+    // Students whose completed courses are fetched per query in the cohort audit
+    private static final int COHORT_CHUNK_SIZE = 1000;
+
     private final StudentRepository studentRepository;
     private final StudentMajorRepository studentMajorRepository;
     private final MajorRepository majorRepository;
     private final RequirementRepository requirementRepository;
     private final EnrollmentService enrollmentService;
+    private final CourseIndex courseIndex;
+    private final RequirementIndexCache requirementIndexCache;
 
     public ProgressService(StudentRepository studentRepository,
                            StudentMajorRepository studentMajorRepository,
                            MajorRepository majorRepository,
                            RequirementRepository requirementRepository,
-                           EnrollmentService enrollmentService) {
+                           EnrollmentService enrollmentService,
+                           CourseIndex courseIndex,
+                           RequirementIndexCache requirementIndexCache) {
         this.studentRepository = studentRepository;
         this.studentMajorRepository = studentMajorRepository;
         this.majorRepository = majorRepository;
         this.requirementRepository = requirementRepository;
         this.enrollmentService = enrollmentService;
+        this.courseIndex = courseIndex;
+        this.requirementIndexCache = requirementIndexCache;
     }
 
     /**
@@ -41,11 +58,13 @@ public class ProgressService {
             int creditsCompleted,
             int creditsRemaining,
             double percentComplete,
-            List<RequirementProgress> requirements
+            List<RequirementProgress> requirements,
+            ProjectedProgress projected
     ) {}
 
     /**
      * Result record for requirement progress information.
+     * projectedStatus/projectedCreditsCompleted assume every in-progress enrollment is completed.
      */
     public record RequirementProgress(
             Requirement requirement,
@@ -53,31 +72,172 @@ public class ProgressService {
             List<Course> completedCourses,
             List<Course> remainingCourses,
             int creditsCompleted,
-            int creditsRemaining
+            int creditsRemaining,
+            RequirementStatus projectedStatus,
+            int projectedCreditsCompleted
+    ) {}
+
+    /**
+     * Major totals assuming every in-progress enrollment is completed.
+     */
+    public record ProjectedProgress(int creditsCompleted, int creditsRemaining, double percentComplete) {}
+
+    /**
+     * One student's standing in a major, as reported by the cohort audit.
+     */
+    public record CohortProgress(
+            Long studentId,
+            int creditsCompleted,
+            int creditsRemaining,
+            double percentComplete,
+            List<RequirementStatusSummary> requirements
+    ) {}
+
+    public record RequirementStatusSummary(Long requirementId, RequirementStatus status, int creditsCompleted) {}
+
+    /**
+     * How far along a student would be in a major, declared or not.
+     */
+    public record MajorRanking(
+            Major major,
+            boolean declared,
+            int creditsCompleted,
+            int creditsRemaining,
+            double percentComplete,
+            int requirementsCompleted,
+            int requirementsTotal
     ) {}
 
+    // Best first: highest percentComplete, then most credits, then lowest major id
+    private static final Comparator<MajorRanking> RANKING_ORDER =
+            Comparator.comparingDouble(MajorRanking::percentComplete).reversed()
+                    .thenComparing(Comparator.comparingInt(MajorRanking::creditsCompleted).reversed())
+                    .thenComparing(r -> r.major().getId());
+
     /**
      * Get progress for all declared majors for a student.
      */
     public List<MajorProgress> getOverallProgress(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
+        return getOverallProgress(studentId, null);
+    }
+
+    /**
+     * Get progress for all declared majors, listing only requirements with the given status (all if null).
+     * Credit totals always cover the whole major.
+     */
+    public List<MajorProgress> getOverallProgress(Long studentId, RequirementStatus status) {
+        StudentSnapshot snapshot = loadSnapshot(studentId);
+        if (snapshot.declaredMajors().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, RequirementIndex> indexes = requirementIndexCache.getAll(
+                snapshot.declaredMajors().stream().map(Major::getId).toList());
+
+        // Requirements (and their courses) for every declared major in one query, for the response only
+        Map<Long, List<Requirement>> requirementsByMajor = new HashMap<>();
+        for (Requirement requirement : requirementRepository.findByMajorInWithCourses(snapshot.declaredMajors())) {
+            requirementsByMajor.computeIfAbsent(requirement.getMajor().getId(), id -> new ArrayList<>()).add(requirement);
+        }
 
-        List<StudentMajor> studentMajors = studentMajorRepository.findByStudent(student);
-        List<MajorProgress> progressList = new ArrayList<>();
+        // Everything is loaded at this point, so the per-major work is pure computation and can run in parallel
+        return snapshot.declaredMajors().parallelStream()
+                .map(major -> toMajorProgress(major, requirementsByMajor.getOrDefault(major.getId(), List.of()),
+                        indexes.get(major.getId()), snapshot.courseSets(), status))
+                .toList();
+    }
+
+    /**
+     * Rank every major in the catalog by how much of it the student has already completed, returning the best {@code limit}.
+     * Uses one student snapshot and the cached requirement indexes; majors are evaluated in parallel and
+     * each thread keeps only its best {@code limit} in a bounded heap, so the full ranking is never sorted.
+     */
+    public List<MajorRanking> rankMajors(Long studentId, int limit) {
+        StudentSnapshot snapshot = loadSnapshot(studentId);
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<Major> majors = majorRepository.findAll();
+        Map<Long, RequirementIndex> indexes = requirementIndexCache.getAll(majors.stream().map(Major::getId).toList());
+        Set<Long> declared = snapshot.declaredMajors().stream().map(Major::getId).collect(Collectors.toSet());
+        BitSet completed = snapshot.completed();
+
+        // Heap is ordered worst first, so the root is what gets dropped when it overflows
+        Comparator<MajorRanking> worstFirst = RANKING_ORDER.reversed();
+        PriorityQueue<MajorRanking> best = majors.parallelStream()
+                .map(major -> rank(major, declared.contains(major.getId()), indexes.get(major.getId()), completed))
+                .collect(Collector.of(
+                        () -> new PriorityQueue<>(worstFirst),
+                        (heap, ranking) -> offer(heap, ranking, limit, worstFirst),
+                        (left, right) -> {
+                            for (MajorRanking ranking : right) {
+                                offer(left, ranking, limit, worstFirst);
+                            }
+                            return left;
+                        }));
+
+        List<MajorRanking> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING_ORDER);
+        return ranked;
+    }
+
+    private static MajorRanking rank(Major major, boolean declared, RequirementIndex index, BitSet completed) {
+        RequirementIndex.Evaluation evaluation = index.evaluate(completed);
+        int totalCreditsRequired = major.getTotalCreditsRequired();
+        int creditsCompleted = evaluation.creditsCompleted();
+        int requirementsCompleted = 0;
+        for (RequirementIndex.RequirementOutcome outcome : evaluation.requirements()) {
+            if (outcome.status() == RequirementStatus.COMPLETE) {
+                requirementsCompleted++;
+            }
+        }
+        return new MajorRanking(
+                major,
+                declared,
+                creditsCompleted,
+                Math.max(0, totalCreditsRequired - creditsCompleted),
+                percentComplete(creditsCompleted, totalCreditsRequired),
+                requirementsCompleted,
+                evaluation.requirements().size()
+        );
+    }
 
-        for (StudentMajor sm : studentMajors) {
-            Major major = sm.getMajor();
-            progressList.add(getMajorProgressInternal(studentId, major));
+    private static void offer(PriorityQueue<MajorRanking> heap, MajorRanking ranking, int limit,
+                              Comparator<MajorRanking> worstFirst) {
+        if (heap.size() < limit) {
+            heap.add(ranking);
+        } else if (worstFirst.compare(ranking, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(ranking);
         }
+    }
+
+    /**
+     * Load the student's course sets and declared majors once, for use across a whole request.
+     */
+    public StudentSnapshot loadSnapshot(Long studentId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
+
+        List<Major> declaredMajors = studentMajorRepository.findByStudent(student).stream()
+                .map(StudentMajor::getMajor)
+                .toList();
 
-        return progressList;
+        return new StudentSnapshot(student, enrollmentService.getCourseSets(studentId), declaredMajors);
     }
 
     /**
      * Get progress for a specific major for a student.
      */
     public MajorProgress getMajorProgress(Long studentId, String majorCode, String majorDesignation) {
+        return getMajorProgress(studentId, majorCode, majorDesignation, null);
+    }
+
+    /**
+     * Get progress for a specific major, listing only requirements with the given status (all if null).
+     */
+    public MajorProgress getMajorProgress(Long studentId, String majorCode, String majorDesignation, RequirementStatus status) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
 
@@ -89,7 +249,10 @@ public class ProgressService {
             throw new ResourceNotFoundException("Student has not declared major: " + majorCode + "_" + majorDesignation);
         }
 
-        return getMajorProgressInternal(studentId, major);
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
+        List<Requirement> requirements = requirementRepository.findByMajorInWithCourses(List.of(major));
+
+        return toMajorProgress(major, requirements, requirementIndexCache.get(major.getId()), courseSets, status);
     }
 
     /**
@@ -102,8 +265,52 @@ public class ProgressService {
         Requirement requirement = requirementRepository.findById(requirementId)
                 .orElseThrow(() -> new ResourceNotFoundException("Requirement not found with id " + requirementId));
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        return calculateRequirementProgress(requirement, completedCourses);
+        StudentCourseSets courseSets = enrollmentService.getCourseSets(studentId);
+        BitSet completed = courseSets.completed();
+        BitSet assumed = (BitSet) completed.clone();
+        assumed.or(courseSets.inProgress());
+
+        RequirementIndex index = requirementIndexCache.get(requirement.getMajor().getId());
+        if (index.evaluate(requirementId, completed) == null) {
+            // Requirement written without going through RequirementService - evaluate it on its own
+            Major major = requirement.getMajor();
+            index = RequirementIndex.build(major.getId(), major.getMaxRequirementsPerCourse(), List.of(requirement), courseIndex);
+        }
+        return toRequirementProgress(requirement, index.evaluate(requirementId, completed), index.evaluate(requirementId, assumed));
+    }
+
+    /**
+     * Progress of every student who declared the major, handed to the sink one student at a time.
+     * Set-based: the requirement index is built once, and completed courses are fetched for a chunk of students
+     * per query, so the query count grows with cohort size / COHORT_CHUNK_SIZE rather than with cohort size.
+     */
+    public void streamCohortProgress(String majorCode, String majorDesignation, Consumer<CohortProgress> sink) {
+        Major major = majorRepository.findByCodeAndDesignation(majorCode, majorDesignation)
+                .orElseThrow(() -> new ResourceNotFoundException("Major not found: " + majorCode + "_" + majorDesignation));
+
+        RequirementIndex index = requirementIndexCache.get(major.getId());
+        int totalCreditsRequired = major.getTotalCreditsRequired();
+        List<Long> studentIds = studentMajorRepository.findStudentIdsByMajor(major);
+
+        for (int from = 0; from < studentIds.size(); from += COHORT_CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + COHORT_CHUNK_SIZE, studentIds.size()));
+            Map<Long, BitSet> completedByStudent = enrollmentService.getCompletedCourseSets(chunk);
+
+            for (Long studentId : chunk) {
+                RequirementIndex.Evaluation evaluation = index.evaluate(
+                        completedByStudent.getOrDefault(studentId, new BitSet()));
+                int creditsCompleted = evaluation.creditsCompleted();
+                sink.accept(new CohortProgress(
+                        studentId,
+                        creditsCompleted,
+                        Math.max(0, totalCreditsRequired - creditsCompleted),
+                        percentComplete(creditsCompleted, totalCreditsRequired),
+                        evaluation.requirements().stream()
+                                .map(o -> new RequirementStatusSummary(o.requirementId(), o.status(), o.creditsCompleted()))
+                                .toList()
+                ));
+            }
+        }
     }
 
     /**
@@ -117,169 +324,144 @@ public class ProgressService {
         Major major = majorRepository.findById(majorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Major not found with id " + majorId));
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Requirement> requirements = requirementRepository.findByMajorCodeAndMajorDesignation(
-                major.getCode(), major.getDesignation());
-
-        // Collect all courses that count toward this major
-        Set<Long> majorCourseIds = requirements.stream()
-                .flatMap(r -> r.getCourses().stream())
-                .map(Course::getId)
-                .collect(java.util.stream.Collectors.toSet());
-
-        // Sum credits for completed courses that are in the major
-        return completedCourses.stream()
-                .filter(c -> majorCourseIds.contains(c.getId()))
-                .mapToInt(Course::getCredits)
-                .sum();
+        BitSet completed = enrollmentService.getCourseSets(studentId).completed();
+        return requirementIndexCache.get(major.getId()).creditsCompleted(completed);
     }
 
+    /**
+     * A major's requirements split by whether the student has completed them, from a single evaluation.
+     */
+    public record RequirementPartition(List<Requirement> completed, List<Requirement> remaining) {}
+
     /**
      * Get list of completed requirements for a major.
      */
     public List<Requirement> getCompletedRequirements(Long studentId, Long majorId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
-
-        Major major = majorRepository.findById(majorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Major not found with id " + majorId));
-
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Requirement> requirements = requirementRepository.findByMajorCodeAndMajorDesignation(
-                major.getCode(), major.getDesignation());
-
-        return requirements.stream()
-                .filter(r -> calculateRequirementProgress(r, completedCourses).status() == RequirementStatus.COMPLETE)
-                .toList();
+        return partitionRequirements(studentId, majorId).completed();
     }
 
     /**
      * Get list of unfulfilled requirements for a major.
      */
     public List<Requirement> getRemainingRequirements(Long studentId, Long majorId) {
+        return partitionRequirements(studentId, majorId).remaining();
+    }
+
+    /**
+     * Split the major's requirements into completed and remaining in one pass over one evaluation.
+     * Requirement entities for both halves are loaded with a single query, each half in requirement id order.
+     */
+    public RequirementPartition partitionRequirements(Long studentId, Long majorId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + studentId));
 
         Major major = majorRepository.findById(majorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Major not found with id " + majorId));
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Requirement> requirements = requirementRepository.findByMajorCodeAndMajorDesignation(
-                major.getCode(), major.getDesignation());
+        BitSet completed = enrollmentService.getCourseSets(studentId).completed();
+        List<RequirementIndex.RequirementOutcome> outcomes =
+                requirementIndexCache.get(major.getId()).evaluate(completed).requirements();
 
-        return requirements.stream()
-                .filter(r -> calculateRequirementProgress(r, completedCourses).status() != RequirementStatus.COMPLETE)
-                .toList();
+        Map<Long, Requirement> byId = new HashMap<>();
+        for (Requirement requirement : requirementRepository.findAllById(
+                outcomes.stream().map(RequirementIndex.RequirementOutcome::requirementId).toList())) {
+            byId.put(requirement.getId(), requirement);
+        }
+
+        // Outcomes are already in requirement id order
+        List<Requirement> complete = new ArrayList<>();
+        List<Requirement> remaining = new ArrayList<>();
+        for (RequirementIndex.RequirementOutcome outcome : outcomes) {
+            Requirement requirement = byId.get(outcome.requirementId());
+            if (requirement == null) {
+                continue; // Deleted since the index was built
+            }
+            if (outcome.status() == RequirementStatus.COMPLETE) {
+                complete.add(requirement);
+            } else {
+                remaining.add(requirement);
+            }
+        }
+        return new RequirementPartition(complete, remaining);
     }
 
     /**
-     * Internal method to calculate major progress.
+     * Attach the evaluated numbers, actual and projected, to the loaded requirements and their courses, for the response.
+     * Requirements whose status does not match the filter (if any) are left out.
+     * If the requirements no longer match the index (written without going through RequirementService),
+     * the index is rebuilt from them first.
      */
-    private MajorProgress getMajorProgressInternal(Long studentId, Major major) {
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        List<Requirement> requirements = requirementRepository.findByMajorCodeAndMajorDesignation(
-                major.getCode(), major.getDesignation());
-
-        // Calculate requirement progress for each requirement
-        List<RequirementProgress> requirementProgressList = requirements.stream()
-                .map(r -> calculateRequirementProgress(r, completedCourses))
-                .toList();
+    private MajorProgress toMajorProgress(Major major, List<Requirement> requirements, RequirementIndex index,
+                                          StudentCourseSets courseSets, RequirementStatus status) {
+        RequirementIndex.Projection projection = index.project(courseSets.completed(), courseSets.inProgress());
+        RequirementIndex.Evaluation evaluation = projection.actual();
+        Map<Long, RequirementIndex.RequirementOutcome> outcomes = new HashMap<>();
+        for (RequirementIndex.RequirementOutcome outcome : evaluation.requirements()) {
+            outcomes.put(outcome.requirementId(), outcome);
+        }
+        Map<Long, RequirementIndex.RequirementOutcome> projectedOutcomes = new HashMap<>();
+        for (RequirementIndex.RequirementOutcome outcome : projection.projected().requirements()) {
+            projectedOutcomes.put(outcome.requirementId(), outcome);
+        }
+        if (index.size() != requirements.size()
+                || !requirements.stream().allMatch(r -> outcomes.containsKey(r.getId()))) {
+            requirementIndexCache.invalidate(major.getId());
+            return toMajorProgress(major, requirements, RequirementIndex.build(major.getId(), major.getMaxRequirementsPerCourse(), requirements, courseIndex),
+                    courseSets, status);
+        }
 
-        // Calculate total credits completed toward this major
-        int creditsCompleted = calculateCreditsCompletedInternal(completedCourses, requirements);
-        int totalCreditsRequired = major.getTotalCreditsRequired();
-        int creditsRemaining = Math.max(0, totalCreditsRequired - creditsCompleted);
-        double percentComplete = totalCreditsRequired > 0
-                ? (double) creditsCompleted / totalCreditsRequired * 100.0
-                : 0.0;
+        List<RequirementProgress> requirementProgressList = new ArrayList<>(requirements.size());
+        for (Requirement requirement : requirements) {
+            RequirementIndex.RequirementOutcome outcome = outcomes.get(requirement.getId());
+            if (status == null || outcome.status() == status) {
+                requirementProgressList.add(toRequirementProgress(requirement, outcome, projectedOutcomes.get(requirement.getId())));
+            }
+        }
 
+        int totalCreditsRequired = major.getTotalCreditsRequired();
+        int creditsCompleted = evaluation.creditsCompleted();
+        int projectedCredits = projection.projected().creditsCompleted();
         return new MajorProgress(
                 major,
                 totalCreditsRequired,
                 creditsCompleted,
-                creditsRemaining,
-                percentComplete,
-                requirementProgressList
+                Math.max(0, totalCreditsRequired - creditsCompleted),
+                percentComplete(creditsCompleted, totalCreditsRequired),
+                requirementProgressList,
+                new ProjectedProgress(
+                        projectedCredits,
+                        Math.max(0, totalCreditsRequired - projectedCredits),
+                        percentComplete(projectedCredits, totalCreditsRequired))
         );
     }
 
-    /**
-     * Calculate credits completed from courses that count toward the major's requirements.
-     */
-    private int calculateCreditsCompletedInternal(List<Course> completedCourses, List<Requirement> requirements) {
-        // Collect all unique course IDs from all requirements
-        Set<Long> majorCourseIds = requirements.stream()
-                .flatMap(r -> r.getCourses().stream())
-                .map(Course::getId)
-                .collect(java.util.stream.Collectors.toSet());
-
-        // Sum credits for completed courses that are in the major
-        return completedCourses.stream()
-                .filter(c -> majorCourseIds.contains(c.getId()))
-                .mapToInt(Course::getCredits)
-                .sum();
-    }
-
-    /**
-     * Calculate progress for a single requirement.
-     *
-     * Logic:
-     * - If minCredits is set: student needs at least that many credits from the requirement's courses
-     * - If minCredits is null: student needs to complete ALL courses in the requirement
-     */
-    private RequirementProgress calculateRequirementProgress(Requirement requirement, List<Course> completedCourses) {
-        Set<Course> requirementCourses = requirement.getCourses();
-
-        // Find which of the requirement's courses have been completed
-        List<Course> completed = requirementCourses.stream()
-                .filter(rc -> completedCourses.stream().anyMatch(cc -> cc.getId().equals(rc.getId())))
-                .toList();
-
-        // Find remaining courses
-        List<Course> remaining = requirementCourses.stream()
-                .filter(rc -> completedCourses.stream().noneMatch(cc -> cc.getId().equals(rc.getId())))
-                .toList();
-
-        int creditsCompleted = completed.stream().mapToInt(Course::getCredits).sum();
-        int totalRequirementCredits = requirementCourses.stream().mapToInt(Course::getCredits).sum();
-
-        // Determine status based on requirement type
-        RequirementStatus status;
-        int creditsRemaining;
-
-        Integer minCredits = requirement.getMinCredits();
-
-        if (minCredits != null) {
-            // Credit-based requirement: need at least minCredits from the course list
-            creditsRemaining = Math.max(0, minCredits - creditsCompleted);
-
-            if (creditsCompleted >= minCredits) {
-                status = RequirementStatus.COMPLETE;
-            } else if (creditsCompleted > 0) {
-                status = RequirementStatus.IN_PROGRESS;
+    private RequirementProgress toRequirementProgress(Requirement requirement, RequirementIndex.RequirementOutcome outcome,
+                                                      RequirementIndex.RequirementOutcome projected) {
+        List<Course> completed = new ArrayList<>();
+        List<Course> remaining = new ArrayList<>();
+        for (Course course : requirement.getCourses()) {
+            if (outcome.completedCourses().get(courseIndex.indexOf(course.getId()))) {
+                completed.add(course);
             } else {
-                status = RequirementStatus.NOT_STARTED;
-            }
-        } else {
-            // Course-based requirement: need all courses
-            creditsRemaining = remaining.stream().mapToInt(Course::getCredits).sum();
-
-            if (remaining.isEmpty()) {
-                status = RequirementStatus.COMPLETE;
-            } else if (!completed.isEmpty()) {
-                status = RequirementStatus.IN_PROGRESS;
-            } else {
-                status = RequirementStatus.NOT_STARTED;
+                remaining.add(course);
             }
         }
 
         return new RequirementProgress(
                 requirement,
-                status,
+                outcome.status(),
                 completed,
                 remaining,
-                creditsCompleted,
-                creditsRemaining
+                outcome.creditsCompleted(),
+                outcome.creditsRemaining(),
+                projected.status(),
+                projected.creditsCompleted()
         );
     }
+
+    private static double percentComplete(int creditsCompleted, int totalCreditsRequired) {
+        return totalCreditsRequired > 0
+                ? (double) creditsCompleted / totalCreditsRequired * 100.0
+                : 0.0;
+    }
 }
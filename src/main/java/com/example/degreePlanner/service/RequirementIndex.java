@@ -0,0 +1,285 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Course;
+import com.example.degreePlanner.entity.Requirement;
+import com.example.degreePlanner.entity.RequirementStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, entity-free copy of a major's requirements.
+ * Each requirement is held as a course bitset plus its minimum credits, and course credits are kept in an int array
+ * indexed by CourseIndex bit, so evaluating a student's progress is bitset work only.
+ *
+ * If the major limits how many requirements one course may count toward, completed courses are first
+ * allocated to requirements by CreditAllocator; allocations are memoized by the student's relevant completed courses.
+ */
+public final class RequirementIndex {
+
+    // minCredits value for requirements that need every listed course
+    private static final int ALL_COURSES = -1;
+
+    // Allocations remembered per index (most recently used kept)
+    private static final int ALLOCATION_CACHE_SIZE = 1024;
+
+    private final Long majorId;
+    private final Long[] requirementIds;   // In requirement id order
+    private final int[] minCredits;        // Parallel to requirementIds
+    private final BitSet[] courses;        // Parallel to requirementIds
+    private final int[] listedCredits;     // Credits of every course the requirement lists
+    private final BitSet union;            // Every course that counts toward the major
+    private final int[] credits;           // By course bit; only positions in union are filled
+    private final int maxPerCourse;        // 0 when a course counts toward every requirement that lists it
+
+    private final Map<BitSet, BitSet[]> allocations = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BitSet, BitSet[]> eldest) {
+                    return size() > ALLOCATION_CACHE_SIZE;
+                }
+            });
+
+    private RequirementIndex(Long majorId, Long[] requirementIds, int[] minCredits, BitSet[] courses,
+                             int[] listedCredits, BitSet union, int[] credits, int maxPerCourse) {
+        this.majorId = majorId;
+        this.requirementIds = requirementIds;
+        this.minCredits = minCredits;
+        this.courses = courses;
+        this.listedCredits = listedCredits;
+        this.union = union;
+        this.credits = credits;
+        this.maxPerCourse = maxPerCourse;
+    }
+
+    /**
+     * Build the index from a major's requirements, with their courses already loaded.
+     * maxRequirementsPerCourse is the major's limit on how many requirements one course counts toward (null for none).
+     */
+    public static RequirementIndex build(Long majorId, Integer maxRequirementsPerCourse,
+                                         List<Requirement> requirements, CourseIndex courseIndex) {
+        List<Requirement> ordered = new ArrayList<>(requirements);
+        ordered.sort((a, b) -> a.getId().compareTo(b.getId()));
+
+        int n = ordered.size();
+        Long[] requirementIds = new Long[n];
+        int[] minCredits = new int[n];
+        BitSet[] courses = new BitSet[n];
+        int[] listedCredits = new int[n];
+        BitSet union = new BitSet();
+
+        List<Course> allCourses = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Requirement requirement = ordered.get(i);
+            requirementIds[i] = requirement.getId();
+            minCredits[i] = requirement.getMinCredits() != null ? requirement.getMinCredits() : ALL_COURSES;
+            courses[i] = new BitSet();
+            for (Course course : requirement.getCourses()) {
+                courses[i].set(courseIndex.indexOf(course.getId()));
+                listedCredits[i] += course.getCredits();
+                allCourses.add(course);
+            }
+            union.or(courses[i]);
+        }
+
+        int[] credits = new int[union.length()];
+        for (Course course : allCourses) {
+            credits[courseIndex.indexOf(course.getId())] = course.getCredits();
+        }
+
+        int maxPerCourse = maxRequirementsPerCourse != null && maxRequirementsPerCourse > 0 ? maxRequirementsPerCourse : 0;
+        return new RequirementIndex(majorId, requirementIds, minCredits, courses, listedCredits, union, credits, maxPerCourse);
+    }
+
+    public Long getMajorId() { return majorId; }
+
+    public int size() { return requirementIds.length; }
+
+    /**
+     * Courses listed by the i-th requirement (in requirement id order), as CourseIndex bits. Returns a copy.
+     */
+    public BitSet getCourses(int i) {
+        return (BitSet) courses[i].clone();
+    }
+
+    /**
+     * Minimum credits of the i-th requirement, or null if it needs every listed course.
+     */
+    public Integer getMinCredits(int i) {
+        return minCredits[i] == ALL_COURSES ? null : minCredits[i];
+    }
+
+    /**
+     * Credits of the course at this CourseIndex bit, if the major lists it (0 otherwise).
+     */
+    public int getCredits(int courseBit) {
+        return courseBit < credits.length ? credits[courseBit] : 0;
+    }
+
+    /**
+     * Whether any of the major's requirements lists the course at this CourseIndex bit.
+     */
+    public boolean counts(int courseBit) {
+        return union.get(courseBit);
+    }
+
+    /**
+     * Outcome of one requirement for one student. completedCourses must not be modified.
+     */
+    public record RequirementOutcome(
+            Long requirementId,
+            RequirementStatus status,
+            BitSet completedCourses,
+            int creditsCompleted,
+            int creditsRemaining
+    ) {}
+
+    /**
+     * Outcome of every requirement, in requirement id order, and the credits completed toward the major
+     * (each course counted once, even if several requirements list it).
+     */
+    public record Evaluation(int creditsCompleted, List<RequirementOutcome> requirements) {}
+
+    /**
+     * Evaluate every requirement against the completed-course bitset.
+     *
+     * Logic:
+     * - If minCredits is set: student needs at least that many credits from the requirement's courses
+     * - If minCredits is null: student needs to complete ALL courses in the requirement
+     */
+    public Evaluation evaluate(BitSet completed) {
+        BitSet[] allocation = allocate(completed);
+        List<RequirementOutcome> outcomes = new ArrayList<>(requirementIds.length);
+        for (int i = 0; i < requirementIds.length; i++) {
+            outcomes.add(evaluate(i, completed, allocation));
+        }
+        return new Evaluation(creditsCompleted(completed), outcomes);
+    }
+
+    /**
+     * Actual progress, and projected progress as if every in-progress course were already completed.
+     */
+    public record Projection(Evaluation actual, Evaluation projected) {}
+
+    /**
+     * Evaluate both views in one pass over the requirements. If none of the in-progress courses counts toward
+     * the major, the projected view is the actual one.
+     */
+    public Projection project(BitSet completed, BitSet inProgress) {
+        if (!union.intersects(inProgress)) {
+            Evaluation actual = evaluate(completed);
+            return new Projection(actual, actual);
+        }
+
+        BitSet assumed = (BitSet) completed.clone();
+        assumed.or(inProgress);
+        BitSet[] actualAllocation = allocate(completed);
+        BitSet[] projectedAllocation = allocate(assumed);
+
+        List<RequirementOutcome> actual = new ArrayList<>(requirementIds.length);
+        List<RequirementOutcome> projected = new ArrayList<>(requirementIds.length);
+        for (int i = 0; i < requirementIds.length; i++) {
+            actual.add(evaluate(i, completed, actualAllocation));
+            projected.add(evaluate(i, assumed, projectedAllocation));
+        }
+        return new Projection(new Evaluation(creditsCompleted(completed), actual),
+                new Evaluation(creditsCompleted(assumed), projected));
+    }
+
+    /**
+     * Outcome of a single requirement, or null if the major has no requirement with this id.
+     */
+    public RequirementOutcome evaluate(Long requirementId, BitSet completed) {
+        for (int i = 0; i < requirementIds.length; i++) {
+            if (requirementIds[i].equals(requirementId)) {
+                return evaluate(i, completed, allocate(completed));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Credits of the completed courses that count toward the major.
+     */
+    public int creditsCompleted(BitSet completed) {
+        BitSet counted = (BitSet) union.clone();
+        counted.and(completed);
+        return sum(counted);
+    }
+
+    /**
+     * Courses counted toward each requirement, or null when the major has no per-course limit
+     * (every completed course then counts toward every requirement that lists it).
+     */
+    private BitSet[] allocate(BitSet completed) {
+        if (maxPerCourse == 0) {
+            return null;
+        }
+
+        BitSet relevant = (BitSet) union.clone();
+        relevant.and(completed);
+        BitSet[] known = allocations.get(relevant);
+        if (known != null) {
+            return known;
+        }
+
+        int[] demand = new int[requirementIds.length];
+        boolean[] allCourses = new boolean[requirementIds.length];
+        for (int i = 0; i < demand.length; i++) {
+            allCourses[i] = minCredits[i] == ALL_COURSES;
+            demand[i] = allCourses[i] ? listedCredits[i] : minCredits[i];
+        }
+        BitSet[] allocation = CreditAllocator.allocate(courses, demand, allCourses, credits, maxPerCourse, relevant);
+        allocations.put(relevant, allocation);
+        return allocation;
+    }
+
+    private RequirementOutcome evaluate(int i, BitSet completed, BitSet[] allocation) {
+        BitSet done;
+        if (allocation != null) {
+            done = allocation[i];
+        } else {
+            done = (BitSet) courses[i].clone();
+            done.and(completed);
+        }
+        int creditsCompleted = sum(done);
+
+        RequirementStatus status;
+        int creditsRemaining;
+        if (minCredits[i] != ALL_COURSES) {
+            // Credit-based requirement: need at least minCredits from the course list
+            creditsRemaining = Math.max(0, minCredits[i] - creditsCompleted);
+            if (creditsCompleted >= minCredits[i]) {
+                status = RequirementStatus.COMPLETE;
+            } else if (creditsCompleted > 0) {
+                status = RequirementStatus.IN_PROGRESS;
+            } else {
+                status = RequirementStatus.NOT_STARTED;
+            }
+        } else {
+            // Course-based requirement: need all courses
+            creditsRemaining = listedCredits[i] - creditsCompleted;
+            if (done.cardinality() == courses[i].cardinality()) {
+                status = RequirementStatus.COMPLETE;
+            } else if (!done.isEmpty()) {
+                status = RequirementStatus.IN_PROGRESS;
+            } else {
+                status = RequirementStatus.NOT_STARTED;
+            }
+        }
+
+        return new RequirementOutcome(requirementIds[i], status, done, creditsCompleted, creditsRemaining);
+    }
+
+    private int sum(BitSet bits) {
+        int total = 0;
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            total += credits[bit];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Requirement;
+import com.example.degreePlanner.repository.RequirementRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory cache of RequirementIndex, keyed by major id.
+ * Entries are built lazily on first use and invalidated by RequirementService whenever a major's requirements change,
+ * and by CourseService when the credits of a listed course change.
+ *
+ * An index is only cached if no eviction happened while it was being read, so a reader that loaded requirements
+ * from before a concurrent write committed cannot put them back after the write's eviction. Majors the current
+ * transaction has changed are built into that transaction only and never shared until it commits.
+ */
+@Component
+public class RequirementIndexCache {
+
+    private final RequirementRepository requirementRepository;
+    private final CourseIndex courseIndex;
+    private final ConcurrentMap<Long, RequirementIndex> indexes = new ConcurrentHashMap<>();
+
+    // Transactions with uncommitted requirement or credit writes; lets the common case skip the per-transaction lookup
+    private final AtomicInteger writingTransactions = new AtomicInteger();
+
+    // Bumped on every eviction, under the indexes lock
+    private final AtomicLong version = new AtomicLong();
+
+    // Notified with the major id on every eviction, or with null when any major may have changed (see CriticalPathService)
+    private final List<Consumer<Long>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public RequirementIndexCache(RequirementRepository requirementRepository, CourseIndex courseIndex) {
+        this.requirementRepository = requirementRepository;
+        this.courseIndex = courseIndex;
+    }
+
+    /**
+     * Get the index for a major, building it from the database on a miss.
+     */
+    public RequirementIndex get(Long majorId) {
+        return getAll(List.of(majorId)).get(majorId);
+    }
+
+    /**
+     * Get indexes for many majors at once; every missing major is loaded with a single query.
+     */
+    public Map<Long, RequirementIndex> getAll(Collection<Long> majorIds) {
+        PendingWrites pending = pendingWrites();
+        Map<Long, RequirementIndex> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long majorId : majorIds) {
+            RequirementIndex index = pending != null && pending.owns(majorId)
+                    ? pending.built.get(majorId)
+                    : indexes.get(majorId);
+            if (index != null) {
+                result.put(majorId, index);
+            } else {
+                misses.add(majorId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long seen = version.get();
+            Map<Long, List<Requirement>> requirementsByMajor = new HashMap<>();
+            for (Requirement requirement : requirementRepository.findByMajorIdInWithCourses(misses)) {
+                requirementsByMajor.computeIfAbsent(requirement.getMajor().getId(), id -> new ArrayList<>()).add(requirement);
+            }
+            for (Long majorId : misses) {
+                List<Requirement> requirements = requirementsByMajor.getOrDefault(majorId, List.of());
+                // The limit only matters when there are requirements, and then the major is already loaded
+                Integer maxPerCourse = requirements.isEmpty() ? null : requirements.get(0).getMajor().getMaxRequirementsPerCourse();
+                RequirementIndex built = RequirementIndex.build(majorId, maxPerCourse, requirements, courseIndex);
+                if (pending != null && pending.owns(majorId)) {
+                    pending.built.put(majorId, built);
+                    result.put(majorId, built);
+                } else {
+                    result.put(majorId, cache(built, seen));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Evict a major's index. Eviction is repeated once the surrounding transaction completes, and until then
+     * the transaction builds the major's index for itself instead of sharing it.
+     */
+    public void invalidate(Long majorId) {
+        evict(majorId);
+
+        PendingWrites pending = bindPendingWrites();
+        if (pending != null) {
+            pending.majorIds.add(majorId);
+            pending.built.remove(majorId);
+        }
+    }
+
+    public void addEvictionListener(Consumer<Long> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Evict every major whose requirements list the course (e.g. after its credits change). Any major may list it,
+     * so until the surrounding transaction completes it builds every index for itself.
+     */
+    public void invalidateCourse(Long courseId) {
+        evictListing(courseId);
+
+        PendingWrites pending = bindPendingWrites();
+        if (pending != null) {
+            pending.courseIds.add(courseId);
+            pending.built.clear();
+        }
+    }
+
+    /**
+     * Majors and courses the current transaction changed, and the indexes it built for itself since.
+     */
+    private static final class PendingWrites {
+        private final Set<Long> majorIds = new HashSet<>();
+        private final Set<Long> courseIds = new HashSet<>();
+        private final Map<Long, RequirementIndex> built = new HashMap<>();
+
+        private boolean owns(Long majorId) {
+            return !courseIds.isEmpty() || majorIds.contains(majorId);
+        }
+    }
+
+    private PendingWrites pendingWrites() {
+        if (writingTransactions.get() == 0) {
+            return null;
+        }
+        return (PendingWrites) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * The current transaction's pending writes, bound on first use with a synchronization that evicts them again
+     * once it completes. Null outside a transaction.
+     */
+    private PendingWrites bindPendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingWrites pending = pendingWrites();
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingWrites bound = new PendingWrites();
+        TransactionSynchronizationManager.bindResource(this, bound);
+        writingTransactions.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RequirementIndexCache.this);
+                writingTransactions.decrementAndGet();
+                for (Long majorId : bound.majorIds) {
+                    evict(majorId);
+                }
+                for (Long courseId : bound.courseIds) {
+                    evictListing(courseId);
+                }
+            }
+        });
+        return bound;
+    }
+
+    private void evict(Long majorId) {
+        synchronized (indexes) {
+            indexes.remove(majorId);
+            version.incrementAndGet();
+        }
+        for (Consumer<Long> listener : evictionListeners) {
+            listener.accept(majorId);
+        }
+    }
+
+    /**
+     * Evict the cached majors that list the course. The version moves forward even if none do, since a major
+     * being loaded concurrently may list it.
+     */
+    private void evictListing(Long courseId) {
+        int courseBit = courseIndex.indexOf(courseId);
+        synchronized (indexes) {
+            indexes.values().removeIf(index -> index.counts(courseBit));
+            version.incrementAndGet();
+        }
+        for (Consumer<Long> listener : evictionListeners) {
+            listener.accept(null);
+        }
+    }
+
+    /**
+     * Share an index built from a read that started at version seen. If anything was evicted since, the read may
+     * predate a committed write, so the index is returned without being cached. If the surrounding transaction
+     * rolls back the entry is dropped, since it may have been built from requirements saved without going through
+     * RequirementService that never committed.
+     */
+    private RequirementIndex cache(RequirementIndex built, long seen) {
+        synchronized (indexes) {
+            if (version.get() != seen) {
+                return built;
+            }
+            RequirementIndex existing = indexes.putIfAbsent(built.getMajorId(), built);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        indexes.remove(built.getMajorId(), built);
+                    }
+                }
+            });
+        }
+        return built;
+    }
+}
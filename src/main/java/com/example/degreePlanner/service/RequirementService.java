@@ -19,15 +19,21 @@ public class RequirementService {
     private final RequirementRepository requirementRepository;
     private final MajorRepository majorRepository;
     private final CourseRepository courseRepository;
+    private final MaterializedProgressService materializedProgressService;
+    private final RequirementIndexCache requirementIndexCache;
 
 
     // Sets the service to talk to the repositories given for each
     public RequirementService(RequirementRepository requirementRepository,
                               MajorRepository majorRepository,
-                              CourseRepository courseRepository) {
+                              CourseRepository courseRepository,
+                              MaterializedProgressService materializedProgressService,
+                              RequirementIndexCache requirementIndexCache) {
         this.requirementRepository = requirementRepository;
         this.majorRepository = majorRepository;
         this.courseRepository = courseRepository;
+        this.materializedProgressService = materializedProgressService;
+        this.requirementIndexCache = requirementIndexCache;
     }
 
 
@@ -36,7 +42,10 @@ public class RequirementService {
                 .orElseThrow(() -> new ResourceNotFoundException("Major not found with identifier " + code + "_" + designation));
 
         requirement.setMajor(major);
-        return requirementRepository.save(requirement);
+        Requirement saved = requirementRepository.save(requirement);
+        requirementIndexCache.invalidate(major.getId());
+        materializedProgressService.refreshMajor(major);
+        return saved;
     }
 
     public List<Requirement> getRequirementsByMajor(String code, String designation) {
@@ -60,14 +69,19 @@ public class RequirementService {
         existing.setMinCredits(updated.getMinCredits());
         existing.setDescription(updated.getDescription());
 
-        return requirementRepository.save(existing);
+        Requirement saved = requirementRepository.save(existing);
+        requirementIndexCache.invalidate(saved.getMajor().getId());
+        materializedProgressService.refreshMajor(saved.getMajor());
+        return saved;
     }
 
     public void deleteRequirement(Long id) {
         Requirement requirement = requirementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Requirement not found with id " + id));
 
-        requirementRepository.delete(requirement);
+        requirementIndexCache.invalidate(requirement.getMajor().getId());
+        requirementRepository.delete(requirement); // Its progress rows go with it (ON DELETE CASCADE)
+        materializedProgressService.refreshMajor(requirement.getMajor());
     }
 
     public void addCourseToRequirement(Long requirementId, Long courseId) {
@@ -79,6 +93,8 @@ public class RequirementService {
 
         requirement.getCourses().add(course);
         requirementRepository.save(requirement);
+        requirementIndexCache.invalidate(requirement.getMajor().getId());
+        materializedProgressService.refreshMajor(requirement.getMajor());
     }
 
     public void removeCourseFromRequirement(Long requirementId, Long courseId) {
@@ -90,5 +106,7 @@ public class RequirementService {
 
         requirement.getCourses().remove(course);
         requirementRepository.save(requirement);
+        requirementIndexCache.invalidate(requirement.getMajor().getId());
+        materializedProgressService.refreshMajor(requirement.getMajor());
     }
 }
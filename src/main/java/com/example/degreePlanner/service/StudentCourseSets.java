@@ -0,0 +1,18 @@
+package com.example.degreePlanner.service;
+
+import java.util.BitSet;
+
+/**
+ * A student's completed and in-progress courses as bitsets over CourseIndex positions.
+ * The bitsets are built per call and should be treated as read-only by callers.
+ */
+public record StudentCourseSets(BitSet completed, BitSet inProgress) {
+
+    public boolean hasCompleted(int courseIndex) {
+        return completed.get(courseIndex);
+    }
+
+    public boolean isInProgress(int courseIndex) {
+        return inProgress.get(courseIndex);
+    }
+}
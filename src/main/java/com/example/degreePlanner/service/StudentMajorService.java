@@ -21,11 +21,14 @@ public class StudentMajorService {
     private StudentRepository studentRepository;
     private MajorRepository majorRepository;
     private StudentMajorRepository studentMajorRepository;
+    private MaterializedProgressService materializedProgressService;
 
-    StudentMajorService(StudentRepository studentRepository, MajorRepository majorRepository, StudentMajorRepository studentMajorRepository) {
+    StudentMajorService(StudentRepository studentRepository, MajorRepository majorRepository, StudentMajorRepository studentMajorRepository,
+                        MaterializedProgressService materializedProgressService) {
         this.studentRepository = studentRepository;
         this.majorRepository = majorRepository;
         this.studentMajorRepository = studentMajorRepository;
+        this.materializedProgressService = materializedProgressService;
     }
 
     public StudentMajor declareMajor(Long id, String majorCode, String majorDesignation, boolean isPrimary){
@@ -53,7 +56,9 @@ public class StudentMajorService {
         }
         StudentMajor studentMajor = new StudentMajor(student, major,
                 LocalDate.now(), isPrimary);
-        return studentMajorRepository.save(studentMajor);
+        StudentMajor saved = studentMajorRepository.save(studentMajor);
+        materializedProgressService.onMajorDeclared(student, major);
+        return saved;
     }
 
     public List<StudentMajor> getStudentMajors(Long id){
@@ -67,6 +72,7 @@ public class StudentMajorService {
         StudentMajor studentMajor = studentMajorRepository.findByStudentAndMajor(student, major).orElseThrow(() -> new ResourceNotFoundException("Student does not have this major declared"));
         boolean wasPrimary = Boolean.TRUE.equals(studentMajor.getIsPrimary());
         studentMajorRepository.delete(studentMajor);
+        materializedProgressService.invalidate(student.getId(), major.getId());
 
         if (wasPrimary) {
             List<StudentMajor> remaining =
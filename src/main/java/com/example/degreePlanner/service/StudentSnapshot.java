@@ -0,0 +1,18 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Major;
+import com.example.degreePlanner.entity.Student;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Everything progress calculations need to know about a student, loaded once per request:
+ * completed and in-progress course sets, and the declared majors.
+ */
+public record StudentSnapshot(Student student, StudentCourseSets courseSets, List<Major> declaredMajors) {
+
+    public BitSet completed() {
+        return courseSets.completed();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.Term;
+import com.example.degreePlanner.repository.CourseRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of course offering masks: for each of the 8 offering bits (season x year parity, see Term),
+ * the CourseIndex bits of the courses NOT offered then. Courses offered every term - the default - are not stored,
+ * so a course the index has not seen counts as offered.
+ *
+ * Loaded with a single query on first use and dropped by CourseService whenever a course's offering changes
+ * or a course is created or deleted. A transaction that dropped it reads offerings for itself until it completes,
+ * so its uncommitted writes are never shared.
+ */
+@Component
+public class TermOfferingIndex {
+
+    private final CourseRepository courseRepository;
+    private final CourseIndex courseIndex;
+    private volatile Snapshot snapshot;
+
+    // Bumped on every drop, under the instance lock; a load is only installed if none happened while it ran
+    private final AtomicLong version = new AtomicLong();
+
+    public TermOfferingIndex(CourseRepository courseRepository, CourseIndex courseIndex) {
+        this.courseRepository = courseRepository;
+        this.courseIndex = courseIndex;
+    }
+
+    /**
+     * Immutable view of the index, safe to hand to worker threads.
+     */
+    public record Snapshot(BitSet[] notOffered) {
+        public boolean isOffered(int courseBit, Term term) {
+            return !notOffered[term.offeringBit()].get(courseBit);
+        }
+
+        /**
+         * Remove the courses not offered in the term from the given bitset.
+         */
+        public void retainOffered(BitSet courses, Term term) {
+            courses.andNot(notOffered[term.offeringBit()]);
+        }
+    }
+
+    public Snapshot snapshot() {
+        PendingWrite pending = pendingWrite();
+        if (pending != null) {
+            if (pending.snapshot == null) {
+                pending.snapshot = load();
+            }
+            return pending.snapshot;
+        }
+
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long seen = version.get();
+        Snapshot loaded = load();
+        synchronized (this) {
+            // A drop since the load started may mean the load read offerings from before a committed write
+            if (version.get() == seen) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    public boolean isOffered(Long courseId, Term term) {
+        return snapshot().isOffered(courseIndex.indexOf(courseId), term);
+    }
+
+    /**
+     * Drop the index. Repeated once the surrounding transaction completes,
+     * so a concurrent reader cannot re-load the offerings as they were before the write committed.
+     */
+    public void invalidate() {
+        drop();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingWrite pending = pendingWrite();
+            if (pending != null) {
+                pending.snapshot = null;
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, new PendingWrite());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TermOfferingIndex.this);
+                    drop();
+                }
+            });
+        }
+    }
+
+    /**
+     * The offerings as seen by a transaction that changed them, loaded on first use after its latest change.
+     */
+    private static final class PendingWrite {
+        private Snapshot snapshot;
+    }
+
+    private PendingWrite pendingWrite() {
+        return (PendingWrite) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void drop() {
+        synchronized (this) {
+            version.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    private Snapshot load() {
+        BitSet[] notOffered = new BitSet[Integer.bitCount(Term.EVERY_TERM)];
+        for (int bit = 0; bit < notOffered.length; bit++) {
+            notOffered[bit] = new BitSet();
+        }
+        for (Object[] row : courseRepository.findRestrictedOfferings()) {
+            int courseBit = courseIndex.indexOf((Long) row[0]);
+            int mask = (Integer) row[1];
+            for (int bit = 0; bit < notOffered.length; bit++) {
+                if ((mask & (1 << bit)) == 0) {
+                    notOffered[bit].set(courseBit);
+                }
+            }
+        }
+        return new Snapshot(notOffered);
+    }
+}
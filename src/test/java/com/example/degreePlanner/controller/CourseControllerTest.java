@@ -129,6 +129,25 @@ public class CourseControllerTest {
                 .andExpect(jsonPath("$[0].code").value("MATH"));
     }
 
+    @Test
+    void searchCourses_returns200RankedMatches() throws Exception {
+        courseService.createCourse(math111());
+        courseService.createCourse(math250());
+        courseService.createCourse(cs170());
+
+        mockMvc.perform(get("/courses/search").param("q", "introduction"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].courseNum").value(250))
+                .andExpect(jsonPath("$[1].code").value("CS"));
+    }
+
+    @Test
+    void searchCourses_blankQuery_returns400() throws Exception {
+        mockMvc.perform(get("/courses/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getCourseByCodeAndCourseNum_exists_returns200() throws Exception {
         Course course2 =  courseService.createCourse(math111());
@@ -264,4 +283,30 @@ public class CourseControllerTest {
                 .andExpect(content().string(""));
     }
 
+    @Test
+    void setPrerequisite_circularDependency_returns409() throws Exception {
+        Course math250 = courseService.createCourse(new Course("MATH", "250", "Foundations of Mathematics", "Intro to theoretical mathematics", 3));
+        Course math111 = courseService.createCourse(new Course("MATH", "111", "Calculus 1", "Intro to calculus", 3));
+        courseService.setPrerequisites(math250.getId(), PrerequisiteType.AND, List.of(math111.getId()));
+
+        String requestBody = String.format("""
+            {
+                "type": "AND",
+                "courseIds": [%d]
+            }
+            """, math250.getId());
+
+        mockMvc.perform(put("/courses/{code}/{courseNum}/prerequisite", "MATH", "111")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getCatalogHealth_returns200() throws Exception {
+        mockMvc.perform(get("/courses/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cycles").isArray())
+                .andExpect(jsonPath("$.unreachable").isArray());
+    }
 }
@@ -0,0 +1,134 @@
+package com.example.degreePlanner.controller;
+
+import com.example.degreePlanner.dto.request.BatchEligibilityRequest;
+import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.repository.*;
+import com.example.degreePlanner.service.CourseService;
+import com.example.degreePlanner.service.EnrollmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class EligibilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private Student student1;
+    private Student student2;
+    private Course cs101;
+    private Course cs201;
+
+    @BeforeEach
+    void setUp() {
+        student1 = studentRepository.save(new Student("AG123", "Arad", "Ganir", "arad@gmail.com"));
+        student2 = studentRepository.save(new Student("AG456", "Arad2", "Ganir2", "arad2@gmail.com"));
+
+        cs101 = courseRepository.save(new Course("CS", "101", "Intro to CS", "Basics", 3));
+        cs201 = courseRepository.save(new Course("CS", "201", "Data Structures", "DS", 3));
+
+        courseService.setPrerequisites(cs201.getId(), PrerequisiteType.AND, List.of(cs101.getId()));
+    }
+
+    // ==================== checkEligibilityBatch ====================
+
+    @Test
+    void checkEligibilityBatch_returnsMatrix() throws Exception {
+        // Only student1 has completed CS 101
+        Enrollment enrollment = enrollmentService.enrollStudent(student1.getId(), cs101.getId(), "Fall 2024");
+        enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+
+        BatchEligibilityRequest request = new BatchEligibilityRequest(
+                List.of(student1.getId(), student2.getId()),
+                List.of(cs201.getId()));
+
+        mockMvc.perform(post("/eligibility/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].studentId").value(student1.getId()))
+                .andExpect(jsonPath("$[0].courses[0].eligible").value(true))
+                .andExpect(jsonPath("$[1].studentId").value(student2.getId()))
+                .andExpect(jsonPath("$[1].courses[0].eligible").value(false))
+                .andExpect(jsonPath("$[1].courses[0].missingPrerequisites[0].courseNum").value("101"));
+    }
+
+    @Test
+    void checkEligibilityBatch_studentNotFound_returns404() throws Exception {
+        BatchEligibilityRequest request = new BatchEligibilityRequest(
+                List.of(student1.getId(), 9999L),
+                List.of(cs201.getId()));
+
+        mockMvc.perform(post("/eligibility/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    // ==================== getEvaluationStats ====================
+
+    @Test
+    void getEvaluationStats_returnsCounters() throws Exception {
+        mockMvc.perform(get("/eligibility/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.evaluations").isNumber())
+                .andExpect(jsonPath("$.nodesVisited").isNumber())
+                .andExpect(jsonPath("$.nodesSkipped").isNumber());
+    }
+
+    // ==================== getEligibleCourses ====================
+
+    @Test
+    void getEligibleCourses_term_returnsOnlyOfferedCourses() throws Exception {
+        Course update = new Course("CS", "101", "Intro to CS", "Basics", 3);
+        update.setOfferedTerms(Term.offeringMask(List.of(Season.SPRING), true, true));
+        courseService.updateCourseById(cs101.getId(), update);
+
+        mockMvc.perform(get("/students/{id}/eligible-courses", student1.getId()).param("term", "Fall 2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/students/{id}/eligible-courses", student1.getId()).param("term", "Spring 2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].courseNum").value("101"));
+    }
+
+    @Test
+    void getEligibleCourses_invalidTerm_returns400() throws Exception {
+        mockMvc.perform(get("/students/{id}/eligible-courses", student1.getId()).param("term", "sometime"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -107,6 +109,20 @@ public class EnrollmentControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void enrollStudent_courseNotOfferedInTerm_returns400() throws Exception {
+        Course update = new Course("CS", "101", "Intro to CS", "Basics of CS", 3);
+        update.setOfferedTerms(Term.offeringMask(List.of(Season.SPRING), true, true));
+        courseService.updateCourseById(course1.getId(), update);
+        CreateEnrollmentRequest request = new CreateEnrollmentRequest("CS", "101", "Fall 2024");
+
+        mockMvc.perform(post("/students/{studentId}/enrollments", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Course Not Offered"));
+    }
+
     // ==================== getEnrollments ====================
 
     @Test
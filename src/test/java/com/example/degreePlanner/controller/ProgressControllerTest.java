@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -177,6 +178,45 @@ public class ProgressControllerTest {
                 .andExpect(jsonPath("$.requirements[0].remainingCourses.length()").value(1));
     }
 
+    @Test
+    void getMajorProgress_statusFilter_returnsOnlyMatchingRequirements() throws Exception {
+        Requirement electives = new Requirement(csMajor, RequirementType.ELECTIVE, "Electives", 6, "Choose electives");
+        requirementRepository.save(electives);
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+        completeEnrollment(student, cs201);
+
+        mockMvc.perform(get("/students/{id}/progress/{code}/{designation}",
+                        student.getId(), "CS", "BS")
+                        .param("status", "COMPLETE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creditsCompleted").value(6))
+                .andExpect(jsonPath("$.requirements.length()").value(1))
+                .andExpect(jsonPath("$.requirements[0].requirement.name").value("Core Courses"));
+
+        mockMvc.perform(get("/students/{id}/progress", student.getId())
+                        .param("status", "NOT_STARTED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].requirements.length()").value(1))
+                .andExpect(jsonPath("$[0].requirements[0].requirement.name").value("Electives"));
+    }
+
+    @Test
+    void getMajorProgress_inProgressEnrollment_returnsProjection() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+        enrollmentService.enrollStudent(student.getId(), cs201.getId(), "Spring 2025");
+
+        mockMvc.perform(get("/students/{id}/progress/{code}/{designation}",
+                        student.getId(), "CS", "BS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creditsCompleted").value(3))
+                .andExpect(jsonPath("$.projected.creditsCompleted").value(6))
+                .andExpect(jsonPath("$.projected.percentComplete").value(20.0))
+                .andExpect(jsonPath("$.requirements[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.requirements[0].projectedStatus").value("COMPLETE"));
+    }
+
     @Test
     void getMajorProgress_majorNotDeclared_returns404() throws Exception {
         // Student exists but hasn't declared CS major
@@ -200,6 +240,158 @@ public class ProgressControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ==================== getProgressSummary ====================
+
+    @Test
+    void getProgressSummary_returns200() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+
+        mockMvc.perform(get("/students/{id}/progress/summary", student.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].major.code").value("CS"))
+                .andExpect(jsonPath("$[0].creditsCompleted").value(3))
+                .andExpect(jsonPath("$[0].requirements[0].name").value("Core Courses"))
+                .andExpect(jsonPath("$[0].requirements[0].status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void getProgressSummary_studentNotFound_returns404() throws Exception {
+        mockMvc.perform(get("/students/{id}/progress/summary", 9999L))
+                .andExpect(status().isNotFound());
+    }
+
+    // ==================== generatePlan ====================
+
+    @Test
+    void generatePlan_returns200() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+
+        // 3-credit cap: one core course per semester
+        mockMvc.perform(post("/students/{id}/plan", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"majorCode\": \"CS\", \"majorDesignation\": \"BS\", \"maxCreditsPerSemester\": 3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.semesters.length()").value(2))
+                .andExpect(jsonPath("$.semesters[0].number").value(1))
+                .andExpect(jsonPath("$.semesters[0].credits").value(3))
+                .andExpect(jsonPath("$.totalCredits").value(6));
+    }
+
+    @Test
+    void generatePlan_invalidCreditCap_returns400() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+
+        mockMvc.perform(post("/students/{id}/plan", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"majorCode\": \"CS\", \"majorDesignation\": \"BS\", \"maxCreditsPerSemester\": 0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void optimizePlan_returns200() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+
+        mockMvc.perform(post("/students/{id}/plan/optimize", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"majorCode\": \"CS\", \"majorDesignation\": \"BS\", \"maxCreditsPerSemester\": 3, \"timeBudgetMillis\": 1000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exhaustive").value(true))
+                .andExpect(jsonPath("$.plan.semesters.length()").value(2))
+                .andExpect(jsonPath("$.plan.totalCredits").value(6));
+    }
+
+    @Test
+    void optimizePlan_invalidTimeBudget_returns400() throws Exception {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+
+        mockMvc.perform(post("/students/{id}/plan/optimize", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"majorCode\": \"CS\", \"majorDesignation\": \"BS\", \"timeBudgetMillis\": 0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ==================== rankMajors ====================
+
+    @Test
+    void rankMajors_returns200() throws Exception {
+        completeEnrollment(student, cs101);
+
+        mockMvc.perform(get("/students/{id}/what-if/majors", student.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].major.code").value("CS"))
+                .andExpect(jsonPath("$[0].declared").value(false))
+                .andExpect(jsonPath("$[0].creditsCompleted").value(3))
+                .andExpect(jsonPath("$[0].percentComplete").value(10.0))
+                .andExpect(jsonPath("$[1].major.code").value("MATH"));
+
+        mockMvc.perform(get("/students/{id}/what-if/majors", student.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void rankMajors_studentNotFound_returns404() throws Exception {
+        mockMvc.perform(get("/students/{id}/what-if/majors", 9999L))
+                .andExpect(status().isNotFound());
+    }
+
+    // ==================== getCohortProgress ====================
+
+    @Test
+    void getCohortProgress_returnsEveryDeclaredStudent() throws Exception {
+        Student other = studentRepository.save(new Student("AG456", "Arad2", "Ganir2", "arad2@gmail.com"));
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        studentMajorService.declareMajor(other.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+
+        mockMvc.perform(get("/majors/{code}/{designation}/progress", "CS", "BS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].studentId").value(student.getId()))
+                .andExpect(jsonPath("$[0].creditsCompleted").value(3))
+                .andExpect(jsonPath("$[0].requirements[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$[1].studentId").value(other.getId()))
+                .andExpect(jsonPath("$[1].creditsCompleted").value(0))
+                .andExpect(jsonPath("$[1].requirements[0].status").value("NOT_STARTED"));
+    }
+
+    @Test
+    void getCohortProgress_majorDoesNotExist_returns404() throws Exception {
+        mockMvc.perform(get("/majors/{code}/{designation}/progress", "FAKE", "BS"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ==================== getCriticalPath ====================
+
+    @Test
+    void getCriticalPath_returns200() throws Exception {
+        // No prerequisites: every core course can be taken in the first semester
+        mockMvc.perform(get("/majors/{code}/{designation}/critical-path", "CS", "BS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.major.code").value("CS"))
+                .andExpect(jsonPath("$.minimumSemesters").value(1))
+                .andExpect(jsonPath("$.chain.length()").value(1));
+    }
+
+    @Test
+    void getCriticalPath_forStudent_skipsCompletedCourses() throws Exception {
+        completeEnrollment(student, cs101);
+
+        mockMvc.perform(get("/students/{id}/critical-path/{code}/{designation}", student.getId(), "CS", "BS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minimumSemesters").value(1))
+                .andExpect(jsonPath("$.chain[0].courseNum").value("201"));
+    }
+
+    @Test
+    void getCriticalPath_majorDoesNotExist_returns404() throws Exception {
+        mockMvc.perform(get("/majors/{code}/{designation}/critical-path", "FAKE", "BS"))
+                .andExpect(status().isNotFound());
+    }
+
     // ==================== Helper Methods ====================
 
     private void completeEnrollment(Student student, Course course) {
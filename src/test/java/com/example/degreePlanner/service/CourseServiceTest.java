@@ -1,5 +1,7 @@
 package com.example.degreePlanner.service;
 
+import com.example.degreePlanner.dto.request.PrerequisiteItemRequest;
+import com.example.degreePlanner.dto.request.SetPrerequisitesRequest;
 import com.example.degreePlanner.entity.Course;
 import com.example.degreePlanner.entity.Prerequisite;
 import com.example.degreePlanner.entity.PrerequisiteType;
@@ -15,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,6 +34,12 @@ public class CourseServiceTest {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private PrerequisiteCircuitCache prerequisiteCircuitCache;
+
     @Autowired
     private PrerequisiteItemRepository prerequisiteItemRepository;
 
@@ -108,6 +117,39 @@ public class CourseServiceTest {
         assertThat(results).isEmpty();
     }
 
+    @Test
+    void getAllCourses_afterWrites_reflectsEveryWriteInIdOrder() {
+        Course math250 = courseService.createCourse(math250());
+        Course math111 = courseService.createCourse(math111());
+        assertThat(courseService.getAllCourses()).hasSize(2); // Loads the snapshot
+
+        Course cs170 = courseService.createCourse(cs170());
+        Course renamed = math250();
+        renamed.setTitle("Discrete Math");
+        courseService.updateCourseById(math250.getId(), renamed);
+        courseService.deleteCourseById(math111.getId());
+
+        assertThat(courseService.getAllCourses()).extracting(Course::getId)
+                .containsExactly(math250.getId(), cs170.getId());
+        assertThat(courseService.getCourseByCodeAndCourseNum("MATH", "250").getTitle()).isEqualTo("Discrete Math");
+        assertThatThrownBy(() -> courseService.getCourseByCodeAndCourseNum("MATH", "111"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void courseCatalog_uncommittedWrite_notSharedWithOtherThreads() throws Exception {
+        courseService.getAllCourses(); // Loads the shared snapshot
+        long before = courseCatalog.getVersion();
+
+        Course saved = courseService.createCourse(math250());
+
+        // This transaction sees its own write; the shared snapshot only changes once it commits
+        assertThat(courseService.getAllCourses()).extracting(Course::getId).containsExactly(saved.getId());
+        assertThat(courseCatalog.snapshot().isShared()).isFalse();
+        assertThat(courseCatalog.getVersion()).isEqualTo(before);
+        assertThat(CompletableFuture.supplyAsync(() -> courseCatalog.snapshot().get(saved.getId())).get()).isNull();
+    }
+
     @Test
     void getCourseById_exists_returnsCourse() {
         Course saved = courseService.createCourse(math250());
@@ -156,6 +198,12 @@ public class CourseServiceTest {
         assertThat(courseService.getCourseByCodeAndCourseNum("MATH", "250").getId()).isNotNull();
     }
 
+    @Test
+    void getCourseByCodeAndCourseNum_differentCase_matchesSnapshot() {
+        Course saved = courseService.createCourse(math250());
+        assertThat(courseService.getCourseByCodeAndCourseNum("math", "250").getId()).isEqualTo(saved.getId());
+    }
+
     @Test
     void getCourseByCodeAndCourseNum_notFound_throwsException() {
         assertThatThrownBy(() -> courseService.getCourseByCodeAndCourseNum("TEST", "250")).isInstanceOf(ResourceNotFoundException.class).hasMessage("Course TEST250 not found");
@@ -247,6 +295,47 @@ public class CourseServiceTest {
 
     }
 
+    @Test
+    void searchCourses_titleMatch_ranksAboveDescriptionMatch() {
+        Course math250 = courseService.createCourse(math250());
+        courseService.createCourse(math111());
+        Course cs170 = courseService.createCourse(cs170());
+
+        assertThat(courseService.searchCourses("introduction", 10)).extracting(Course::getId)
+                .containsExactly(math250.getId(), cs170.getId());
+    }
+
+    @Test
+    void searchCourses_stemmedWords_matchOtherForms() {
+        Course cs201 = courseService.createCourse(new Course("CS", "201", "Data Structures", "Programming with lists and trees", 3));
+        courseService.createCourse(math111());
+
+        assertThat(courseService.searchCourses("programs", 10)).extracting(Course::getId).containsExactly(cs201.getId());
+        assertThat(courseService.searchCourses("the structure", 10)).extracting(Course::getId).containsExactly(cs201.getId());
+        assertThat(courseService.searchCourses("the", 10)).isEmpty();
+    }
+
+    @Test
+    void searchCourses_afterUpdateAndDelete_reflectsWrites() {
+        Course math250 = courseService.createCourse(math250());
+        Course cs170 = courseService.createCourse(cs170());
+        assertThat(courseService.searchCourses("mathematics", 10)).hasSize(1);
+
+        Course renamed = math250();
+        renamed.setTitle("Discrete Structures");
+        courseService.updateCourseById(math250.getId(), renamed);
+        courseService.deleteCourseById(cs170.getId());
+
+        assertThat(courseService.searchCourses("mathematics", 10)).isEmpty();
+        assertThat(courseService.searchCourses("discrete", 10)).extracting(Course::getId).containsExactly(math250.getId());
+        assertThat(courseService.searchCourses("compsci", 10)).isEmpty();
+    }
+
+    @Test
+    void searchCourses_blankQuery_throwsException() {
+        assertThatThrownBy(() -> courseService.searchCourses("  ", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     // PrerequisiteServiceTest for Courses
 
     @Test
@@ -271,6 +360,20 @@ public class CourseServiceTest {
 
     }
 
+    @Test
+    void setPrerequisites_uncommitted_circuitNotSharedWithOtherThreads() throws Exception {
+        Course math250 = courseService.createCourse(new Course("MATH", "250", "Foundations of Mathematics", "Intro to theoretical mathematics", 3));
+        Course math111 = courseService.createCourse(new Course("MATH", "111", "Calculus 1", "Intro to calculus", 3));
+
+        courseService.setPrerequisites(math250.getId(), PrerequisiteType.AND, List.of(math111.getId()));
+
+        // This transaction sees its own write; a concurrent reader must not see it before it commits
+        assertThat(prerequisiteCircuitCache.get(math250.getId()).hasPrerequisites()).isTrue();
+        assertThat(courseService.getUnlockedCourses(math111.getId())).extracting(Course::getId).containsExactly(math250.getId());
+        assertThat(CompletableFuture.supplyAsync(() -> prerequisiteCircuitCache.get(math250.getId()).hasPrerequisites()).get())
+                .isFalse();
+    }
+
     @Test
     void setPrerequisites_courseNotFound_throwsException() {
         Course math250 = courseService.createCourse(new Course("MATH", "250", "Foundations of Mathematics", "Intro to theoretical mathematics", 3));
@@ -394,4 +497,71 @@ public class CourseServiceTest {
         assertThat(courseService.getPrerequisite(math250.getId())).isNull();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUnlockedCourses_followsPrerequisiteWrites() {
+        Course math250 = courseService.createCourse(new Course("MATH", "250", "Foundations of Mathematics", "Intro to theoretical mathematics", 3));
+        Course math112 = courseService.createCourse(new Course("MATH", "112", "Calculus 2", "Derivations and Integrations", 3));
+        Course math111 = courseService.createCourse(new Course("MATH", "111", "Calculus 1", "Intro to calculus", 3));
+
+        // MATH 250 requires (MATH 111 OR MATH 112)
+        courseService.setNestedPrerequisites(math250.getId(), new SetPrerequisitesRequest(PrerequisiteType.AND, List.of(
+                new PrerequisiteItemRequest(PrerequisiteType.OR, List.of(
+                        new PrerequisiteItemRequest(math111.getId()),
+                        new PrerequisiteItemRequest(math112.getId()))))));
+
+        assertThat(courseService.getUnlockedCourses(math111.getId()))
+                .extracting(Course::getId)
+                .containsExactly(math250.getId());
+
+        courseService.removePrerequisite(math250.getId());
+
+        assertThat(courseService.getUnlockedCourses(math111.getId())).isEmpty();
+    }
+
+    @Test
+    void setPrerequisites_circularDependency_throwsException() {
+        Course math111 = courseService.createCourse(math111());
+        Course math250 = courseService.createCourse(math250());
+
+        // MATH 250 requires MATH 111, then MATH 111 requires MATH 250 - neither could ever be taken
+        courseService.setPrerequisites(math250.getId(), PrerequisiteType.AND, List.of(math111.getId()));
+
+        assertThatThrownBy(() -> courseService.setPrerequisites(math111.getId(), PrerequisiteType.AND, List.of(math250.getId())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("circular dependency: MATH 111 -> MATH 250 -> MATH 111");
+    }
+
+    @Test
+    void setPrerequisites_reachabilityCheck_recordsNoEvaluationStats() {
+        Course math111 = courseService.createCourse(math111());
+        Course math250 = courseService.createCourse(math250());
+        PrerequisiteCircuit.EvaluationStats before = PrerequisiteCircuit.evaluationStats();
+
+        courseService.setPrerequisites(math250.getId(), PrerequisiteType.AND, List.of(math111.getId()));
+        courseService.getCatalogHealth();
+
+        assertThat(PrerequisiteCircuit.evaluationStats()).isEqualTo(before);
+    }
+
+    @Test
+    void getCatalogHealth_reportsCycleWithAlternativeRoute() {
+        Course math111 = courseService.createCourse(math111());
+        Course math250 = courseService.createCourse(math250());
+        Course cs170 = courseService.createCourse(cs170());
+
+        // MATH 250 requires MATH 111; MATH 111 requires (MATH 250 OR CS 170) - a cycle, but CS 170 is a way in
+        courseService.setPrerequisites(math250.getId(), PrerequisiteType.AND, List.of(math111.getId()));
+        courseService.setNestedPrerequisites(math111.getId(), new SetPrerequisitesRequest(PrerequisiteType.OR, List.of(
+                new PrerequisiteItemRequest(math250.getId()),
+                new PrerequisiteItemRequest(cs170.getId()))));
+
+        CourseService.CatalogHealthReport report = courseService.getCatalogHealth();
+
+        assertThat(report.cycles()).anySatisfy(cycle -> assertThat(cycle)
+                .extracting(Course::getId)
+                .containsExactlyInAnyOrder(math111.getId(), math250.getId()));
+        assertThat(report.unreachable()).extracting(Course::getId)
+                .doesNotContain(math111.getId(), math250.getId(), cs170.getId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.degreePlanner.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CreditAllocatorTest {
+
+    @Test
+    void allocate_deadBranch_doesNotBlockLaterBranches() {
+        // Courses of 3, 3 and 1 credits, each counting toward one requirement at most. All three requirements
+        // are satisfied by giving course i to requirement i, but the search first tries a branch that dead-ends
+        // after passing through a course the next branch needs.
+        BitSet[] courses = {BitSet.valueOf(new long[] {0b111}), BitSet.valueOf(new long[] {0b011}),
+                BitSet.valueOf(new long[] {0b110})};
+        int[] demand = {2, 3, 1};
+        int[] credits = {3, 3, 1};
+        BitSet completed = new BitSet();
+        completed.set(0, 3);
+
+        BitSet[] allocated = CreditAllocator.allocate(courses, demand, new boolean[3], credits, 1, completed);
+
+        for (int i = 0; i < courses.length; i++) {
+            assertTrue(held(allocated[i], credits) >= demand[i], "requirement " + i + " holds " + allocated[i]);
+        }
+    }
+
+    @Test
+    void allocate_largeContestedMajor_respectsLimitQuickly() {
+        // 40 requirements over 300 courses, each course listed by about 10 of them
+        Random random = new Random(7);
+        int requirements = 40;
+        int courseCount = 300;
+        BitSet[] courses = new BitSet[requirements];
+        int[] demand = new int[requirements];
+        int[] credits = new int[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            credits[c] = 1 + random.nextInt(4);
+        }
+        for (int i = 0; i < requirements; i++) {
+            courses[i] = new BitSet();
+            for (int c = 0; c < courseCount; c++) {
+                if (random.nextInt(4) == 0) {
+                    courses[i].set(c);
+                }
+            }
+            demand[i] = 5 + random.nextInt(60);
+        }
+        BitSet completed = new BitSet();
+        completed.set(0, courseCount);
+
+        BitSet[] allocated = assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+                CreditAllocator.allocate(courses, demand, new boolean[requirements], credits, 1, completed));
+
+        int[] used = new int[courseCount];
+        for (int i = 0; i < requirements; i++) {
+            for (int c = allocated[i].nextSetBit(0); c >= 0; c = allocated[i].nextSetBit(c + 1)) {
+                assertTrue(courses[i].get(c));
+                used[c]++;
+            }
+        }
+        for (int c = 0; c < courseCount; c++) {
+            assertTrue(used[c] <= 1, "course " + c + " allocated " + used[c] + " times");
+        }
+    }
+
+    private static int held(BitSet allocated, int[] credits) {
+        return allocated.stream().map(c -> credits[c]).sum();
+    }
+}
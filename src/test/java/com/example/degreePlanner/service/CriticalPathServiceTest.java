@@ -0,0 +1,130 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.exception.ResourceNotFoundException;
+import com.example.degreePlanner.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class CriticalPathServiceTest {
+
+    @Autowired
+    private CriticalPathService criticalPathService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MajorRepository majorRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RequirementRepository requirementRepository;
+
+    private Student student;
+    private Course cs101;
+    private Course cs201;
+    private Course cs301;
+    private Course math101;
+    private Course math201;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(new Student("AG123", "Arad", "Ganir", "arad@gmail.com"));
+        Major csMajor = majorRepository.save(new Major("Computer Science", "CS", "BS", "CS degree", 30));
+
+        cs101 = courseRepository.save(new Course("CS", "101", "Intro to CS", "Basics", 3));
+        cs201 = courseRepository.save(new Course("CS", "201", "Data Structures", "DS", 3));
+        cs301 = courseRepository.save(new Course("CS", "301", "Algorithms", "Algo", 3));
+        math101 = courseRepository.save(new Course("MATH", "101", "Calculus I", "Calc 1", 4));
+        math201 = courseRepository.save(new Course("MATH", "201", "Calculus II", "Calc 2", 4));
+
+        // CS 101 -> CS 201 -> CS 301, and MATH 101 -> MATH 201
+        courseService.setPrerequisites(cs201.getId(), PrerequisiteType.AND, List.of(cs101.getId()));
+        courseService.setPrerequisites(cs301.getId(), PrerequisiteType.AND, List.of(cs201.getId()));
+        courseService.setPrerequisites(math201.getId(), PrerequisiteType.AND, List.of(math101.getId()));
+
+        // Core: CS 301 only; elective: 4 credits of math
+        Requirement core = new Requirement(csMajor, RequirementType.CORE, "Core Courses", null, "Required core courses");
+        core.getCourses().add(cs301);
+        requirementRepository.save(core);
+
+        Requirement elective = new Requirement(csMajor, RequirementType.ELECTIVE, "Math Elective", 4, "One math course");
+        elective.getCourses().add(math101);
+        elective.getCourses().add(math201);
+        requirementRepository.save(elective);
+    }
+
+    // ==================== getCriticalPath ====================
+
+    @Test
+    void getCriticalPath_followsLongestPrerequisiteChain() {
+        CriticalPathService.CriticalPath path = criticalPathService.getCriticalPath("CS", "BS");
+
+        // MATH 101 alone covers the elective, so the CS chain is the longest
+        assertEquals(List.of(cs101, cs201, cs301), path.chain());
+        assertEquals(3, path.minimumSemesters());
+    }
+
+    @Test
+    void getCriticalPath_orPrerequisite_takesShorterBranch() {
+        // CS 301 now needs CS 201 or MATH 101; MATH 101 has no prerequisites
+        courseService.setPrerequisites(cs301.getId(), PrerequisiteType.OR, List.of(cs201.getId(), math101.getId()));
+
+        CriticalPathService.CriticalPath path = criticalPathService.getCriticalPath("CS", "BS");
+
+        assertEquals(List.of(math101, cs301), path.chain());
+        assertEquals(2, path.minimumSemesters());
+    }
+
+    @Test
+    void getCriticalPath_afterPrerequisiteWrite_reflectsChange() {
+        assertEquals(3, criticalPathService.getCriticalPath("CS", "BS").minimumSemesters());
+
+        courseService.setPrerequisites(cs101.getId(), PrerequisiteType.AND, List.of(math201.getId()));
+
+        CriticalPathService.CriticalPath path = criticalPathService.getCriticalPath("CS", "BS");
+        assertEquals(List.of(math101, math201, cs101, cs201, cs301), path.chain());
+        assertEquals(5, path.minimumSemesters());
+    }
+
+    @Test
+    void getCriticalPath_majorNotFound_throwsException() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> criticalPathService.getCriticalPath("NOPE", "BS"));
+    }
+
+    @Test
+    void getCriticalPath_forStudent_skipsCompletedAndInProgressCourses() {
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), cs101.getId(), "Fall 2024");
+        enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+        enrollmentService.enrollStudent(student.getId(), cs201.getId(), "Spring 2025");  // in progress
+
+        CriticalPathService.CriticalPath path = criticalPathService.getCriticalPath(student.getId(), "CS", "BS");
+
+        // CS 301 and MATH 101 are both one semester away
+        assertEquals(1, path.minimumSemesters());
+
+        // The major-wide path is unaffected by the student's enrollments
+        assertEquals(3, criticalPathService.getCriticalPath("CS", "BS").minimumSemesters());
+    }
+}
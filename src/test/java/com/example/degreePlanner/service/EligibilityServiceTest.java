@@ -12,6 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +28,9 @@ public class EligibilityServiceTest {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private CourseService courseService;
+
     @Autowired
     private StudentRepository studentRepository;
 
@@ -38,6 +43,12 @@ public class EligibilityServiceTest {
     @Autowired
     private PrerequisiteItemRepository prerequisiteItemRepository;
 
+    @Autowired
+    private EligibleCourseCache eligibleCourseCache;
+
+    @Autowired
+    private PrerequisiteCircuitCache prerequisiteCircuitCache;
+
     private Student student;
     private Course courseA;
     private Course courseB;
@@ -247,6 +258,47 @@ public class EligibilityServiceTest {
         assertFalse(eligible);
     }
 
+    @Test
+    void isEligibleForCourse_prerequisitesReplaced_reflectsNewTree() {
+        // Prerequisites: A, then replaced by B, then removed
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND, List.of(courseA.getId()));
+        completeEnrollment(student, courseB);
+
+        assertFalse(eligibilityService.isEligibleForCourse(student.getId(), targetCourse.getId()));
+
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND, List.of(courseB.getId()));
+
+        assertTrue(eligibilityService.isEligibleForCourse(student.getId(), targetCourse.getId()));
+
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND, List.of(courseC.getId()));
+        courseService.removePrerequisite(targetCourse.getId());
+
+        assertTrue(eligibilityService.isEligibleForCourse(student.getId(), targetCourse.getId()));
+    }
+
+    @Test
+    void isEligibleForCourse_repeatedChecks_adaptiveOrderKeepsVerdictAndSkipsWork() {
+        // Prerequisites: A AND B AND C, with only A and B completed - C always decides the gate
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND,
+                List.of(courseA.getId(), courseB.getId(), courseC.getId()));
+        completeEnrollment(student, courseA);
+        completeEnrollment(student, courseB);
+
+        PrerequisiteCircuit.EvaluationStats before = eligibilityService.getEvaluationStats();
+
+        // Enough checks for the gate to re-sort its children at least once
+        for (int i = 0; i < 600; i++) {
+            assertFalse(eligibilityService.isEligibleForCourse(student.getId(), targetCourse.getId()));
+        }
+
+        PrerequisiteCircuit.EvaluationStats after = eligibilityService.getEvaluationStats();
+        assertTrue(after.evaluations() - before.evaluations() >= 600);
+        assertTrue(after.nodesSkipped() > before.nodesSkipped());
+
+        completeEnrollment(student, courseC);
+        assertTrue(eligibilityService.isEligibleForCourse(student.getId(), targetCourse.getId()));
+    }
+
     // ==================== getMissingPrerequisites ====================
 
     @Test
@@ -307,6 +359,69 @@ public class EligibilityServiceTest {
         assertTrue(missing.isEmpty());
     }
 
+    // ==================== checkEligibility ====================
+
+    @Test
+    void checkEligibility_nestedPartiallyMet_returnsVerdictAndMissingTogether() {
+        // Prerequisites: (A OR B) AND C, with B completed - only C is missing
+        Prerequisite nestedOr = prerequisiteRepository.save(new Prerequisite(null, PrerequisiteType.OR, new HashSet<>()));
+        PrerequisiteItem itemA = prerequisiteItemRepository.save(new PrerequisiteItem(nestedOr, courseA));
+        PrerequisiteItem itemB = prerequisiteItemRepository.save(new PrerequisiteItem(nestedOr, courseB));
+        nestedOr.getItems().add(itemA);
+        nestedOr.getItems().add(itemB);
+
+        Prerequisite rootAnd = prerequisiteRepository.save(new Prerequisite(targetCourse, PrerequisiteType.AND, new HashSet<>()));
+        PrerequisiteItem nestedItem = prerequisiteItemRepository.save(new PrerequisiteItem(rootAnd, nestedOr));
+        PrerequisiteItem itemC = prerequisiteItemRepository.save(new PrerequisiteItem(rootAnd, courseC));
+        rootAnd.getItems().add(nestedItem);
+        rootAnd.getItems().add(itemC);
+
+        completeEnrollment(student, courseB);
+
+        EligibilityService.EligibilityResult result = eligibilityService.checkEligibility(student.getId(), targetCourse.getId());
+
+        assertFalse(result.eligible());
+        assertEquals(List.of(courseC.getId()), result.missing().stream().map(Course::getId).toList());
+
+        // Completing C flips the verdict and clears the missing list
+        completeEnrollment(student, courseC);
+        result = eligibilityService.checkEligibility(student.getId(), targetCourse.getId());
+
+        assertTrue(result.eligible());
+        assertTrue(result.missing().isEmpty());
+    }
+
+    @Test
+    void checkEligibility_minimalModes_returnCheapestOption() {
+        // Prerequisites: C OR (LAB1 AND LAB2) - C is one 4-credit course, the labs are two 1-credit courses
+        Course lab1 = courseRepository.save(new Course("CS", "100L", "Lab I", "Lab", 1));
+        Course lab2 = courseRepository.save(new Course("CS", "101L", "Lab II", "Lab", 1));
+
+        Prerequisite labs = prerequisiteRepository.save(new Prerequisite(null, PrerequisiteType.AND, new HashSet<>()));
+        PrerequisiteItem itemLab1 = prerequisiteItemRepository.save(new PrerequisiteItem(labs, lab1));
+        PrerequisiteItem itemLab2 = prerequisiteItemRepository.save(new PrerequisiteItem(labs, lab2));
+        labs.getItems().add(itemLab1);
+        labs.getItems().add(itemLab2);
+
+        Prerequisite rootOr = prerequisiteRepository.save(new Prerequisite(targetCourse, PrerequisiteType.OR, new HashSet<>()));
+        PrerequisiteItem itemC = prerequisiteItemRepository.save(new PrerequisiteItem(rootOr, courseC));
+        PrerequisiteItem labsItem = prerequisiteItemRepository.save(new PrerequisiteItem(rootOr, labs));
+        rootOr.getItems().add(itemC);
+        rootOr.getItems().add(labsItem);
+
+        Set<Long> all = missingIds(EligibilityService.MissingMode.ALL);
+        Set<Long> minCredits = missingIds(EligibilityService.MissingMode.MIN_CREDITS);
+        Set<Long> minCourses = missingIds(EligibilityService.MissingMode.MIN_COURSES);
+
+        assertEquals(Set.of(courseC.getId(), lab1.getId(), lab2.getId()), all);
+        assertEquals(Set.of(lab1.getId(), lab2.getId()), minCredits);
+        assertEquals(Set.of(courseC.getId()), minCourses);
+
+        // Completing one lab makes the other the cheapest route by either measure
+        completeEnrollment(student, lab1);
+        assertEquals(Set.of(lab2.getId()), missingIds(EligibilityService.MissingMode.MIN_CREDITS));
+    }
+
     // ==================== getEligibleCourses ====================
 
     @Test
@@ -335,6 +450,117 @@ public class EligibilityServiceTest {
         assertFalse(eligible.stream().anyMatch(c -> c.getId().equals(courseA.getId())));
     }
 
+    @Test
+    void getEligibleCourses_nestedPrerequisites_evaluatesWholeCatalog() {
+        // targetCourse: (A OR B) AND C, courseE: D
+        Prerequisite nestedOr = new Prerequisite(null, PrerequisiteType.OR, new HashSet<>());
+        nestedOr = prerequisiteRepository.save(nestedOr);
+        PrerequisiteItem itemA = new PrerequisiteItem(nestedOr, courseA);
+        PrerequisiteItem itemB = new PrerequisiteItem(nestedOr, courseB);
+        prerequisiteItemRepository.save(itemA);
+        prerequisiteItemRepository.save(itemB);
+        nestedOr.getItems().add(itemA);
+        nestedOr.getItems().add(itemB);
+
+        Prerequisite rootAnd = new Prerequisite(targetCourse, PrerequisiteType.AND, new HashSet<>());
+        rootAnd = prerequisiteRepository.save(rootAnd);
+        PrerequisiteItem nestedItem = new PrerequisiteItem(rootAnd, nestedOr);
+        PrerequisiteItem itemC = new PrerequisiteItem(rootAnd, courseC);
+        prerequisiteItemRepository.save(nestedItem);
+        prerequisiteItemRepository.save(itemC);
+        rootAnd.getItems().add(nestedItem);
+        rootAnd.getItems().add(itemC);
+
+        createPrerequisite(courseE, PrerequisiteType.AND, courseD);
+
+        completeEnrollment(student, courseB);
+        completeEnrollment(student, courseC);
+
+        List<Course> eligible = eligibilityService.getEligibleCourses(student.getId());
+
+        assertTrue(eligible.stream().anyMatch(c -> c.getId().equals(targetCourse.getId())));
+        assertTrue(eligible.stream().anyMatch(c -> c.getId().equals(courseD.getId())));
+        assertFalse(eligible.stream().anyMatch(c -> c.getId().equals(courseE.getId())));
+    }
+
+    @Test
+    void getEligibleCourses_updatedIncrementallyOnEnrollmentChanges() {
+        // targetCourse requires A
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND, List.of(courseA.getId()));
+
+        List<Course> before = eligibilityService.getEligibleCourses(student.getId());
+        assertTrue(before.stream().anyMatch(c -> c.getId().equals(courseA.getId())));
+        assertFalse(before.stream().anyMatch(c -> c.getId().equals(targetCourse.getId())));
+
+        // Enrolling removes A, completing it unlocks targetCourse
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), courseA.getId(), "Fall 2024");
+        assertFalse(eligibilityService.getEligibleCourses(student.getId()).stream()
+                .anyMatch(c -> c.getId().equals(courseA.getId())));
+
+        enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+        assertTrue(eligibilityService.getEligibleCourses(student.getId()).stream()
+                .anyMatch(c -> c.getId().equals(targetCourse.getId())));
+
+        // Removing the enrollment puts things back
+        enrollmentService.removeEnrollment(enrollment.getId());
+        List<Course> after = eligibilityService.getEligibleCourses(student.getId());
+        assertTrue(after.stream().anyMatch(c -> c.getId().equals(courseA.getId())));
+        assertFalse(after.stream().anyMatch(c -> c.getId().equals(targetCourse.getId())));
+    }
+
+    @Test
+    void getEligibleCourses_uncommittedEnrollment_entryNotSharedWithOtherThreads() {
+        eligibilityService.getEligibleCourses(student.getId());
+        enrollmentService.enrollStudent(student.getId(), courseA.getId(), "Fall 2024");
+        long version = prerequisiteCircuitCache.getVersion();
+
+        // This transaction sees its own entry; nothing is shared until it commits
+        assertNotNull(eligibleCourseCache.get(student.getId(), version));
+        assertNull(CompletableFuture.supplyAsync(() -> eligibleCourseCache.get(student.getId(), version)).join());
+    }
+
+    @Test
+    void getEligibleCourses_cachedAndUncached_sameOrder() {
+        List<Long> uncached = eligibilityService.getEligibleCourses(student.getId()).stream().map(Course::getId).toList();
+        List<Long> cached = eligibilityService.getEligibleCourses(student.getId()).stream().map(Course::getId).toList();
+
+        assertEquals(uncached, cached);
+        assertEquals(uncached.stream().sorted().toList(), uncached);
+    }
+
+    @Test
+    void getEligibleCourses_term_excludesCoursesNotOffered() {
+        // courseE is offered in the fall of odd years only
+        Course update = new Course("PHYS", "101", "Physics I", "Physics", 4);
+        update.setOfferedTerms(Term.offeringMask(List.of(Season.FALL), false, true));
+        courseService.updateCourseById(courseE.getId(), update);
+
+        List<Course> fall2024 = eligibilityService.getEligibleCourses(student.getId(), Term.parse("Fall 2024"));
+        List<Course> fall2025 = eligibilityService.getEligibleCourses(student.getId(), Term.parse("Fall 2025"));
+
+        assertFalse(fall2024.stream().anyMatch(c -> c.getId().equals(courseE.getId())));
+        assertTrue(fall2025.stream().anyMatch(c -> c.getId().equals(courseE.getId())));
+        assertTrue(fall2024.stream().anyMatch(c -> c.getId().equals(courseA.getId())));
+    }
+
+    // ==================== getNewlyEligibleCourses ====================
+
+    @Test
+    void getNewlyEligibleCourses_returnsOnlyCoursesUnlockedByCompletion() {
+        // targetCourse: A AND B, courseE: A, courseD: C
+        courseService.setPrerequisites(targetCourse.getId(), PrerequisiteType.AND, List.of(courseA.getId(), courseB.getId()));
+        courseService.setPrerequisites(courseE.getId(), PrerequisiteType.AND, List.of(courseA.getId()));
+        courseService.setPrerequisites(courseD.getId(), PrerequisiteType.AND, List.of(courseC.getId()));
+
+        completeEnrollment(student, courseB);
+
+        List<Course> unlocked = eligibilityService.getNewlyEligibleCourses(student.getId(), courseA.getId());
+
+        assertEquals(2, unlocked.size());
+        assertTrue(unlocked.stream().anyMatch(c -> c.getId().equals(targetCourse.getId())));
+        assertTrue(unlocked.stream().anyMatch(c -> c.getId().equals(courseE.getId())));
+    }
+
     // ==================== Helper Methods ====================
 
     /**
@@ -356,6 +582,13 @@ public class EligibilityServiceTest {
     /**
      * Enroll student and mark as completed
      */
+    private Set<Long> missingIds(EligibilityService.MissingMode mode) {
+        EligibilityService.EligibilityResult result =
+                eligibilityService.checkEligibility(student.getId(), targetCourse.getId(), mode);
+        assertFalse(result.eligible());
+        return result.missing().stream().map(Course::getId).collect(Collectors.toSet());
+    }
+
     private void completeEnrollment(Student student, Course course) {
         Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), course.getId(), "Fall 2024");
         enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
@@ -1,6 +1,7 @@
 package com.example.degreePlanner.service;
 
 import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.exception.CourseNotOfferedException;
 import com.example.degreePlanner.exception.DuplicateResourceException;
 import com.example.degreePlanner.exception.ResourceNotFoundException;
 import com.example.degreePlanner.repository.CourseRepository;
@@ -34,6 +35,12 @@ public class EnrollmentServiceTest {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private CourseIndex courseIndex;
+
+    @Autowired
+    private CourseService courseService;
+
     private Student student;
     private Course course1;
     private Course course2;
@@ -82,6 +89,15 @@ public class EnrollmentServiceTest {
         });
     }
 
+    @Test
+    void enrollStudent_sameTermDifferentSpelling_throwsException() {
+        enrollmentService.enrollStudent(student.getId(), course1.getId(), "Fall 2024");
+
+        assertThrows(DuplicateResourceException.class, () -> {
+            enrollmentService.enrollStudent(student.getId(), course1.getId(), "fall 2024");
+        });
+    }
+
     @Test
     void enrollStudent_retakeDifferentSemester_enrollsStudent() {
         Enrollment first = enrollmentService.enrollStudent(student.getId(), course1.getId(), "Fall 2024");
@@ -94,6 +110,26 @@ public class EnrollmentServiceTest {
         assertEquals("Spring 2025", second.getSemester());
     }
 
+    @Test
+    void enrollStudent_parsesSemesterIntoTerm() {
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), course1.getId(), "fall 2024");
+
+        assertEquals(new Term(Season.FALL, 2024), enrollment.getTerm());
+        assertEquals(1, enrollmentService.getEnrollmentsBySemester(student.getId(), "Fall 2024").size());
+        assertTrue(enrollmentService.getEnrollmentsBySemester(student.getId(), "Spring 2025").isEmpty());
+    }
+
+    @Test
+    void enrollStudent_courseNotOfferedInTerm_throwsException() {
+        Course update = new Course("CS", "101", "Intro to CS", "Basics of CS", 3);
+        update.setOfferedTerms(Term.offeringMask(List.of(Season.SPRING), true, true));
+        courseService.updateCourseById(course1.getId(), update);
+
+        assertThrows(CourseNotOfferedException.class,
+                () -> enrollmentService.enrollStudent(student.getId(), course1.getId(), "Fall 2024"));
+        assertNotNull(enrollmentService.enrollStudent(student.getId(), course1.getId(), "Spring 2025").getId());
+    }
+
     // ==================== getEnrollments ====================
 
     @Test
@@ -197,4 +233,20 @@ public class EnrollmentServiceTest {
         assertEquals(1, completed.size());
         assertEquals(course1.getId(), completed.get(0).getId());
     }
-}
\ No newline at end of file
+
+    // ==================== getCourseSets ====================
+
+    @Test
+    void getCourseSets_splitsCompletedAndInProgress() {
+        Enrollment e1 = enrollmentService.enrollStudent(student.getId(), course1.getId(), "Fall 2024");
+        enrollmentService.enrollStudent(student.getId(), course2.getId(), "Fall 2024");
+        enrollmentService.updateEnrollment(e1.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+
+        StudentCourseSets sets = enrollmentService.getCourseSets(student.getId());
+
+        assertTrue(sets.hasCompleted(courseIndex.indexOf(course1.getId())));
+        assertFalse(sets.isInProgress(courseIndex.indexOf(course1.getId())));
+        assertTrue(sets.isInProgress(courseIndex.indexOf(course2.getId())));
+        assertFalse(sets.hasCompleted(courseIndex.indexOf(course2.getId())));
+    }
+}
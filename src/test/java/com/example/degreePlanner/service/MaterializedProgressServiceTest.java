@@ -0,0 +1,181 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class MaterializedProgressServiceTest {
+
+    @Autowired
+    private MaterializedProgressService materializedProgressService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentMajorService studentMajorService;
+
+    @Autowired
+    private RequirementService requirementService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MajorRepository majorRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentMajorProgressRepository majorProgressRepository;
+
+    private Student student;
+    private Major csMajor;
+    private Course cs101;
+    private Course cs201;
+    private Course cs301;
+    private Requirement coreRequirement;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(new Student("AG123", "Arad", "Ganir", "arad@gmail.com"));
+        csMajor = majorRepository.save(new Major("Computer Science", "CS", "BS", "CS degree", 30));
+
+        cs101 = courseRepository.save(new Course("CS", "101", "Intro to CS", "Basics", 3));
+        cs201 = courseRepository.save(new Course("CS", "201", "Data Structures", "DS", 3));
+        cs301 = courseRepository.save(new Course("CS", "301", "Algorithms", "Algo", 3));
+
+        // Core requirement: must complete all courses (no minCredits)
+        coreRequirement = requirementService.createRequirement("CS", "BS",
+                new Requirement(csMajor, RequirementType.CORE, "Core Courses", null, "Required core courses"));
+        requirementService.addCourseToRequirement(coreRequirement.getId(), cs101.getId());
+        requirementService.addCourseToRequirement(coreRequirement.getId(), cs201.getId());
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+    }
+
+    // ==================== getProgressSummary ====================
+
+    @Test
+    void getProgressSummary_firstRead_matchesComputedProgress() {
+        completeEnrollment(student, cs101);
+
+        List<MaterializedProgressService.MajorProgressSummary> summary =
+                materializedProgressService.getProgressSummary(student.getId());
+        ProgressService.MajorProgress computed = progressService.getMajorProgress(student.getId(), "CS", "BS");
+
+        assertEquals(1, summary.size());
+        assertEquals(computed.creditsCompleted(), summary.get(0).creditsCompleted());
+        assertEquals(computed.percentComplete(), summary.get(0).percentComplete(), 0.01);
+        assertEquals(1, summary.get(0).requirements().size());
+        assertEquals(RequirementStatus.IN_PROGRESS, summary.get(0).requirements().get(0).getStatus());
+        assertEquals(3, summary.get(0).requirements().get(0).getCreditsRemaining());
+    }
+
+    @Test
+    void getProgressSummary_majorWithoutRows_computedWithoutStoring() {
+        completeEnrollment(student, cs101);
+        materializedProgressService.invalidate(student.getId(), csMajor.getId());
+
+        MaterializedProgressService.MajorProgressSummary summary =
+                materializedProgressService.getProgressSummary(student.getId()).get(0);
+
+        assertEquals(3, summary.creditsCompleted());
+        assertEquals(RequirementStatus.IN_PROGRESS, summary.requirements().get(0).getStatus());
+        assertTrue(majorProgressRepository.findByStudentIdAndMajorId(student.getId(), csMajor.getId()).isEmpty());
+    }
+
+    @Test
+    void getProgressSummary_noMajors_returnsEmptyList() {
+        Student other = studentRepository.save(new Student("AG456", "Arad2", "Ganir2", "arad2@gmail.com"));
+
+        assertTrue(materializedProgressService.getProgressSummary(other.getId()).isEmpty());
+    }
+
+    // ==================== incremental maintenance ====================
+
+    @Test
+    void declareMajor_materializesRowsBeforeAnyRead() {
+        StudentMajorProgress row = majorProgressRepository
+                .findByStudentIdAndMajorId(student.getId(), csMajor.getId()).orElseThrow();
+        assertEquals(0, row.getCreditsCompleted());
+    }
+
+    @Test
+    void onEnrollmentChanged_updatesMaterializedRowsOnWrite() {
+        completeEnrollment(student, cs101);
+        completeEnrollment(student, cs201);
+
+        // The stored row is already current, before any read recomputes it
+        StudentMajorProgress row = majorProgressRepository
+                .findByStudentIdAndMajorId(student.getId(), csMajor.getId()).orElseThrow();
+        assertEquals(6, row.getCreditsCompleted());
+
+        MaterializedProgressService.MajorProgressSummary summary =
+                materializedProgressService.getProgressSummary(student.getId()).get(0);
+        assertEquals(RequirementStatus.COMPLETE, summary.requirements().get(0).getStatus());
+    }
+
+    @Test
+    void addCourseToRequirement_refreshesStudentsWithMajor() {
+        completeEnrollment(student, cs101);
+        completeEnrollment(student, cs201);
+        assertEquals(RequirementStatus.COMPLETE,
+                materializedProgressService.getProgressSummary(student.getId()).get(0).requirements().get(0).getStatus());
+
+        requirementService.addCourseToRequirement(coreRequirement.getId(), cs301.getId());
+
+        MaterializedProgressService.MajorProgressSummary summary =
+                materializedProgressService.getProgressSummary(student.getId()).get(0);
+        assertEquals(RequirementStatus.IN_PROGRESS, summary.requirements().get(0).getStatus());
+        assertEquals(3, summary.requirements().get(0).getCreditsRemaining());
+    }
+
+    @Test
+    void createRequirement_refreshesRowsInsteadOfDroppingThem() {
+        completeEnrollment(student, cs101);
+
+        Requirement elective = requirementService.createRequirement("CS", "BS",
+                new Requirement(csMajor, RequirementType.ELECTIVE, "Electives", 3, "Any elective"));
+        requirementService.addCourseToRequirement(elective.getId(), cs301.getId());
+
+        StudentMajorProgress row = majorProgressRepository
+                .findByStudentIdAndMajorId(student.getId(), csMajor.getId()).orElseThrow();
+        assertEquals(3, row.getCreditsCompleted());
+        assertEquals(2, materializedProgressService.getProgressSummary(student.getId()).get(0).requirements().size());
+    }
+
+    @Test
+    void removeMajor_dropsMaterializedRows() {
+        materializedProgressService.getProgressSummary(student.getId());
+        assertTrue(majorProgressRepository.findByStudentIdAndMajorId(student.getId(), csMajor.getId()).isPresent());
+
+        studentMajorService.removeMajor(student.getId(), "CS", "BS");
+
+        assertTrue(majorProgressRepository.findByStudentIdAndMajorId(student.getId(), csMajor.getId()).isEmpty());
+        assertTrue(materializedProgressService.getProgressSummary(student.getId()).isEmpty());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void completeEnrollment(Student student, Course course) {
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), course.getId(), "Fall 2024");
+        enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.degreePlanner.service;
+
+import com.example.degreePlanner.entity.*;
+import com.example.degreePlanner.exception.ResourceNotFoundException;
+import com.example.degreePlanner.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class PlanServiceTest {
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentMajorService studentMajorService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MajorRepository majorRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RequirementRepository requirementRepository;
+
+    private Student student;
+    private Course cs101;
+    private Course cs201;
+    private Course cs301;
+    private Course math101;
+    private Course math201;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(new Student("AG123", "Arad", "Ganir", "arad@gmail.com"));
+        Major csMajor = majorRepository.save(new Major("Computer Science", "CS", "BS", "CS degree", 30));
+
+        cs101 = courseRepository.save(new Course("CS", "101", "Intro to CS", "Basics", 3));
+        cs201 = courseRepository.save(new Course("CS", "201", "Data Structures", "DS", 3));
+        cs301 = courseRepository.save(new Course("CS", "301", "Algorithms", "Algo", 3));
+        math101 = courseRepository.save(new Course("MATH", "101", "Calculus I", "Calc 1", 4));
+        math201 = courseRepository.save(new Course("MATH", "201", "Calculus II", "Calc 2", 4));
+
+        // CS 101 -> CS 201 -> CS 301, and MATH 101 -> MATH 201
+        courseService.setPrerequisites(cs201.getId(), PrerequisiteType.AND, List.of(cs101.getId()));
+        courseService.setPrerequisites(cs301.getId(), PrerequisiteType.AND, List.of(cs201.getId()));
+        courseService.setPrerequisites(math201.getId(), PrerequisiteType.AND, List.of(math101.getId()));
+
+        // Core: all three CS courses; elective: 3 credits of math
+        Requirement core = new Requirement(csMajor, RequirementType.CORE, "Core Courses", null, "Required core courses");
+        core.getCourses().add(cs101);
+        core.getCourses().add(cs201);
+        core.getCourses().add(cs301);
+        requirementRepository.save(core);
+
+        Requirement elective = new Requirement(csMajor, RequirementType.ELECTIVE, "Math Elective", 3, "One math course");
+        elective.getCourses().add(math101);
+        elective.getCourses().add(math201);
+        requirementRepository.save(elective);
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+    }
+
+    // ==================== generatePlan ====================
+
+    @Test
+    void generatePlan_respectsPrerequisitesAndCreditCap() {
+        PlanService.DegreePlan plan = planService.generatePlan(student.getId(), "CS", "BS", 7);
+
+        // The CS chain needs three semesters; MATH 101 (no prerequisites, cheaper than MATH 201) fits into the first
+        assertEquals(3, plan.semesters().size());
+        assertEquals(List.of(cs101, math101), plan.semesters().get(0).courses());
+        assertEquals(List.of(cs201), plan.semesters().get(1).courses());
+        assertEquals(List.of(cs301), plan.semesters().get(2).courses());
+        assertEquals(13, plan.totalCredits());
+        assertTrue(plan.semesters().stream().allMatch(s -> s.credits() <= 7));
+        assertTrue(plan.unmetRequirements().isEmpty());
+    }
+
+    @Test
+    void generatePlan_skipsCompletedAndInProgressCourses() {
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), cs101.getId(), "Fall 2024");
+        enrollmentService.updateEnrollment(enrollment.getId(), Grade.A, EnrollmentStatus.COMPLETED);
+        enrollmentService.enrollStudent(student.getId(), cs201.getId(), "Spring 2025");  // in progress
+
+        PlanService.DegreePlan plan = planService.generatePlan(student.getId(), "CS", "BS", 7);
+
+        assertEquals(1, plan.semesters().size());
+        assertEquals(2, plan.semesters().get(0).courses().size());
+        assertTrue(plan.semesters().get(0).courses().containsAll(List.of(cs301, math101)));
+    }
+
+    @Test
+    void generatePlan_startTerm_placesCoursesOnlyInOfferedTerms() {
+        // CS 301 is spring-only, so after CS 201 in spring it waits a full year
+        Course update = new Course("CS", "301", "Algorithms", "Algo", 3);
+        update.setOfferedTerms(Term.offeringMask(List.of(Season.SPRING), true, true));
+        courseService.updateCourseById(cs301.getId(), update);
+
+        PlanService.DegreePlan plan = planService.generatePlan(student.getId(), "CS", "BS", 7, Term.parse("Summer 2025"));
+
+        assertEquals(4, plan.semesters().size());
+        assertEquals(new Term(Season.FALL, 2025), plan.semesters().get(0).term());
+        assertEquals(List.of(cs201), plan.semesters().get(1).courses());
+        assertEquals(new Term(Season.FALL, 2026), plan.semesters().get(2).term());
+        assertTrue(plan.semesters().get(2).courses().isEmpty());
+        assertEquals(new Term(Season.SPRING, 2027), plan.semesters().get(3).term());
+        assertEquals(List.of(cs301), plan.semesters().get(3).courses());
+    }
+
+    @Test
+    void generatePlan_majorNotDeclared_throwsException() {
+        majorRepository.save(new Major("Mathematics", "MATH", "BS", "Math degree", 24));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> planService.generatePlan(student.getId(), "MATH", "BS", 15));
+    }
+
+    // ==================== optimizePlan ====================
+
+    @Test
+    void optimizePlan_orPrerequisite_findsFewerSemestersThanGreedy() {
+        Major dsMajor = majorRepository.save(new Major("Data Science", "DS", "BS", "DS degree", 30));
+        Course capstone = courseRepository.save(new Course("DS", "499", "Capstone", "Capstone", 3));
+        Course a = courseRepository.save(new Course("DS", "300", "Path A", "A", 3));
+        Course a0 = courseRepository.save(new Course("DS", "200", "Path A prep", "A0", 3));
+        Course a00 = courseRepository.save(new Course("DS", "100", "Path A intro", "A00", 3));
+        Course b = courseRepository.save(new Course("DS", "310", "Path B", "B", 3));
+        List<Long> bPrereqs = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            bPrereqs.add(courseRepository.save(new Course("DS", "11" + i, "Path B intro " + i, "B" + i, 3)).getId());
+        }
+
+        // Capstone needs A or B. A is the fewer-courses branch but its chain is one semester longer
+        courseService.setPrerequisites(capstone.getId(), PrerequisiteType.OR, List.of(a.getId(), b.getId()));
+        courseService.setPrerequisites(a.getId(), PrerequisiteType.AND, List.of(a0.getId()));
+        courseService.setPrerequisites(a0.getId(), PrerequisiteType.AND, List.of(a00.getId()));
+        courseService.setPrerequisites(b.getId(), PrerequisiteType.AND, bPrereqs);
+
+        Requirement core = new Requirement(dsMajor, RequirementType.CORE, "Capstone", null, "Capstone");
+        core.getCourses().add(capstone);
+        requirementRepository.save(core);
+        studentMajorService.declareMajor(student.getId(), "DS", "BS", false);
+
+        assertEquals(4, planService.generatePlan(student.getId(), "DS", "BS", 15).semesters().size());
+
+        PlanService.OptimizedPlan optimized = planService.optimizePlan(student.getId(), "DS", "BS", 15, 5000);
+
+        assertTrue(optimized.exhaustive());
+        assertEquals(3, optimized.plan().semesters().size());
+        assertEquals(List.of(b), optimized.plan().semesters().get(1).courses());
+        assertEquals(List.of(capstone), optimized.plan().semesters().get(2).courses());
+        assertEquals(18, optimized.plan().totalCredits());
+    }
+
+    @Test
+    void optimizePlan_creditRequirement_prefersFewerCredits() {
+        Major statMajor = majorRepository.save(new Major("Statistics", "STAT", "BS", "Stat degree", 30));
+        Course stat101 = courseRepository.save(new Course("STAT", "101", "Intro to Statistics", "Stats", 3));
+
+        Requirement elective = new Requirement(statMajor, RequirementType.ELECTIVE, "Quantitative", 3, "One course");
+        elective.getCourses().add(math101);
+        elective.getCourses().add(stat101);
+        requirementRepository.save(elective);
+        studentMajorService.declareMajor(student.getId(), "STAT", "BS", false);
+
+        // Greedy takes the larger course; both plans take one semester
+        assertEquals(4, planService.generatePlan(student.getId(), "STAT", "BS", 15).totalCredits());
+
+        PlanService.OptimizedPlan optimized = planService.optimizePlan(student.getId(), "STAT", "BS", 15, 5000);
+
+        assertEquals(1, optimized.plan().semesters().size());
+        assertEquals(List.of(stat101), optimized.plan().semesters().get(0).courses());
+        assertEquals(3, optimized.plan().totalCredits());
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +30,15 @@ public class ProgressServiceTest {
     @Autowired
     private StudentMajorService studentMajorService;
 
+    @Autowired
+    private RequirementService requirementService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private MajorService majorService;
+
     @Autowired
     private StudentRepository studentRepository;
 
@@ -246,6 +258,109 @@ public class ProgressServiceTest {
         assertEquals(0, coreProgress.creditsCompleted());
     }
 
+    @Test
+    void getMajorProgress_courseInTwoRequirements_creditsCountedOnce() {
+        // cs301 also listed as a core course, so it appears in both requirements
+        coreRequirement.getCourses().add(cs301);
+        requirementRepository.save(coreRequirement);
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);  // 3 credits
+        completeEnrollment(student, cs301);  // 3 credits, in both requirements
+
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(
+                student.getId(), "CS", "BS");
+
+        assertEquals(6, progress.creditsCompleted());
+
+        ProgressService.RequirementProgress core = progress.requirements().stream()
+                .filter(rp -> rp.requirement().getId().equals(coreRequirement.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(2, core.completedCourses().size());
+        assertEquals(List.of(cs201), core.remainingCourses());
+        assertEquals(6, core.creditsCompleted());
+        assertEquals(3, core.creditsRemaining());
+        assertEquals(RequirementStatus.IN_PROGRESS, core.status());
+    }
+
+    @Test
+    void getMajorProgress_afterRequirementAndCreditWrites_reflectsChanges() {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);  // 3 credits
+        completeEnrollment(student, cs301);  // 3 credits, elective only
+
+        assertEquals(6, progressService.getMajorProgress(student.getId(), "CS", "BS").creditsCompleted());
+
+        // Both writes go through the services, which drop the cached requirement index
+        requirementService.addCourseToRequirement(coreRequirement.getId(), cs301.getId());
+        courseService.updateCourseById(cs101.getId(), new Course("CS", "101", "Intro to CS", "Basics", 4));
+
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(student.getId(), "CS", "BS");
+        assertEquals(7, progress.creditsCompleted());
+
+        ProgressService.RequirementProgress core = progress.requirements().stream()
+                .filter(rp -> rp.requirement().getId().equals(coreRequirement.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(2, core.completedCourses().size());
+        assertEquals(7, core.creditsCompleted());
+        assertEquals(RequirementStatus.IN_PROGRESS, core.status());
+        assertEquals(7, progressService.calculateCreditsCompleted(student.getId(), csMajor.getId()));
+    }
+
+    @Test
+    void getMajorProgress_courseLimitPerMajor_maximizesSatisfiedRequirements() {
+        // cs201 and cs301 both also count toward a small systems requirement
+        Requirement systems = new Requirement(csMajor, RequirementType.ELECTIVE, "Systems", 2, "Systems elective");
+        systems.getCourses().add(cs201);
+        systems.getCourses().add(cs301);
+        systems = requirementRepository.save(systems);
+
+        Major limited = new Major("Computer Science", "CS", "BS", "CS degree", 30);
+        limited.setMaxRequirementsPerCourse(1);
+        majorService.updateMajorById(csMajor.getId(), limited);
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+        completeEnrollment(student, cs201);
+        completeEnrollment(student, cs301);
+
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(student.getId(), "CS", "BS");
+
+        // cs201 must go to core (which needs it), so systems is satisfied with cs301 instead
+        Map<Long, ProgressService.RequirementProgress> byId = progress.requirements().stream()
+                .collect(Collectors.toMap(rp -> rp.requirement().getId(), rp -> rp));
+        assertEquals(RequirementStatus.COMPLETE, byId.get(coreRequirement.getId()).status());
+        assertEquals(RequirementStatus.COMPLETE, byId.get(systems.getId()).status());
+        assertEquals(List.of(cs301), byId.get(systems.getId()).completedCourses());
+        assertEquals(RequirementStatus.NOT_STARTED, byId.get(electiveRequirement.getId()).status());
+
+        // Each course counted toward at most one requirement; major credits are unaffected
+        long allocated = progress.requirements().stream().mapToLong(rp -> rp.completedCourses().size()).sum();
+        assertEquals(3, allocated);
+        assertEquals(9, progress.creditsCompleted());
+    }
+
+    @Test
+    void getMajorProgress_inProgressEnrollments_reportedAsProjection() {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);  // 3 credits
+        enrollmentService.enrollStudent(student.getId(), cs201.getId(), "Spring 2025");  // 3 credits, in progress
+
+        ProgressService.MajorProgress progress = progressService.getMajorProgress(student.getId(), "CS", "BS");
+
+        assertEquals(3, progress.creditsCompleted());
+        assertEquals(6, progress.projected().creditsCompleted());
+        assertEquals(24, progress.projected().creditsRemaining());
+        assertEquals(20.0, progress.projected().percentComplete(), 0.01);
+
+        ProgressService.RequirementProgress core = progress.requirements().stream()
+                .filter(rp -> rp.requirement().getId().equals(coreRequirement.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(RequirementStatus.IN_PROGRESS, core.status());
+        assertEquals(RequirementStatus.COMPLETE, core.projectedStatus());
+        assertEquals(6, core.projectedCreditsCompleted());
+    }
+
     // ==================== getOverallProgress ====================
 
     @Test
@@ -269,6 +384,30 @@ public class ProgressServiceTest {
                 .anyMatch(p -> p.major().getCode().equals("MATH")));
     }
 
+    @Test
+    void getOverallProgress_doubleMajor_matchesPerMajorProgress() {
+        Requirement mathReq = new Requirement(mathMajor, RequirementType.CORE, "Math Core", null, "Math courses");
+        mathReq.getCourses().add(math101);
+        mathReq.getCourses().add(math201);
+        requirementRepository.save(mathReq);
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        studentMajorService.declareMajor(student.getId(), "MATH", "BS", false);
+        completeEnrollment(student, cs101);   // CS core
+        completeEnrollment(student, math101); // CS elective and MATH core
+
+        List<ProgressService.MajorProgress> progressList = progressService.getOverallProgress(student.getId());
+
+        for (ProgressService.MajorProgress overall : progressList) {
+            ProgressService.MajorProgress single = progressService.getMajorProgress(
+                    student.getId(), overall.major().getCode(), overall.major().getDesignation());
+            assertEquals(single.creditsCompleted(), overall.creditsCompleted());
+            assertEquals(single.requirements().size(), overall.requirements().size());
+        }
+        assertEquals(7, progressList.stream().filter(p -> p.major().getCode().equals("CS")).findFirst().orElseThrow().creditsCompleted());
+        assertEquals(4, progressList.stream().filter(p -> p.major().getCode().equals("MATH")).findFirst().orElseThrow().creditsCompleted());
+    }
+
     @Test
     void getOverallProgress_noMajors_returnsEmptyList() {
         // Student has no declared majors
@@ -369,6 +508,78 @@ public class ProgressServiceTest {
         assertEquals(2, remaining.size());  // Both core (partial) and elective (not started)
     }
 
+    // ==================== partitionRequirements ====================
+
+    @Test
+    void partitionRequirements_splitsBothHalvesInOneCall() {
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+        completeEnrollment(student, cs201);
+
+        ProgressService.RequirementPartition partition = progressService.partitionRequirements(
+                student.getId(), csMajor.getId());
+
+        assertEquals(List.of(coreRequirement), partition.completed());
+        assertEquals(List.of(electiveRequirement), partition.remaining());
+    }
+
+    // ==================== rankMajors ====================
+
+    @Test
+    void rankMajors_includesUndeclaredMajorsBestFirst() {
+        Requirement mathReq = new Requirement(mathMajor, RequirementType.CORE, "Calculus", null, "Calc sequence");
+        mathReq.getCourses().add(math101);
+        mathReq.getCourses().add(math201);
+        requirementRepository.save(mathReq);
+        majorRepository.save(new Major("Physics", "PHYS", "BS", "Physics degree", 40));
+
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        completeEnrollment(student, math101);  // 4 credits, CS elective and MATH core
+        completeEnrollment(student, math201);  // 4 credits, CS elective and MATH core
+
+        List<ProgressService.MajorRanking> ranking = progressService.rankMajors(student.getId(), 10);
+
+        assertEquals(List.of("MATH", "CS", "PHYS"), ranking.stream().map(r -> r.major().getCode()).toList());
+        assertFalse(ranking.get(0).declared());
+        assertEquals(8, ranking.get(0).creditsCompleted());
+        assertEquals(1, ranking.get(0).requirementsCompleted());
+        assertTrue(ranking.get(1).declared());
+        assertEquals(8, ranking.get(1).creditsCompleted());
+        assertEquals(0.0, ranking.get(2).percentComplete());
+    }
+
+    @Test
+    void rankMajors_limit_keepsOnlyTopK() {
+        completeEnrollment(student, cs101);
+
+        List<ProgressService.MajorRanking> ranking = progressService.rankMajors(student.getId(), 1);
+
+        assertEquals(1, ranking.size());
+        assertEquals("CS", ranking.get(0).major().getCode());
+    }
+
+    // ==================== streamCohortProgress ====================
+
+    @Test
+    void streamCohortProgress_matchesPerStudentProgress() {
+        Student other = studentRepository.save(new Student("AG456", "Arad2", "Ganir2", "arad2@gmail.com"));
+        studentMajorService.declareMajor(student.getId(), "CS", "BS", true);
+        studentMajorService.declareMajor(other.getId(), "CS", "BS", true);
+        completeEnrollment(student, cs101);
+        completeEnrollment(other, math101);
+        completeEnrollment(other, cs301);
+
+        List<ProgressService.CohortProgress> cohort = new ArrayList<>();
+        progressService.streamCohortProgress("CS", "BS", cohort::add);
+
+        assertEquals(2, cohort.size());
+        for (ProgressService.CohortProgress entry : cohort) {
+            ProgressService.MajorProgress single = progressService.getMajorProgress(entry.studentId(), "CS", "BS");
+            assertEquals(single.creditsCompleted(), entry.creditsCompleted());
+            assertEquals(single.requirements().size(), entry.requirements().size());
+        }
+    }
+
     // ==================== Helper Methods ====================
 
     private void completeEnrollment(Student student, Course course) {
@@ -16,6 +16,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -37,6 +38,9 @@ public class RequirementServiceTest {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private RequirementIndexCache requirementIndexCache;
+
     // Test data - set in @BeforeEach
     private Major mathMajor;
     private Major csMajor;
@@ -178,6 +182,18 @@ public class RequirementServiceTest {
         assertThat(result.getCourses()).doesNotContain(math111);
     }
 
+    @Test
+    void addCourseToRequirement_uncommitted_indexNotSharedWithOtherThreads() throws Exception {
+        Requirement saved = requirementService.createRequirement("MATH", "BS",
+                new Requirement(mathMajor, RequirementType.CORE, "Calculus", null, "Calc"));
+        requirementService.addCourseToRequirement(saved.getId(), math111.getId());
+
+        // This transaction sees its own write; a concurrent reader must not see it before it commits
+        assertThat(requirementIndexCache.get(mathMajor.getId()).size()).isEqualTo(1);
+        assertThat(CompletableFuture.supplyAsync(() -> requirementIndexCache.get(mathMajor.getId()).size()).get())
+                .isZero();
+    }
+
     @Test
     void addCourseToRequirement_requirementNotFound_throwsException() {
         assertThatThrownBy(() -> requirementService.addCourseToRequirement(999L, math111.getId()))